@@ -6,6 +6,7 @@ plugins {
     id("com.diffplug.spotless")
     id("org.zaproxy.common")
     id("net.ltgt.errorprone") version "4.1.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -61,6 +62,10 @@ tasks.withType<JavaCompile>().configureEach {
     }
 }
 
+tasks.named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone.isEnabled.set(false)
+}
+
 tasks.withType<Test>().configureEach {
     useJUnitPlatform()
 }
@@ -0,0 +1,93 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link TokenReplacer}, compared with the previous implementation (i.e. {@code
+ * StringUtils.replaceEach}).
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenReplacerBenchmark {
+
+    @Param({"2", "8", "32"})
+    private int tokenCount;
+
+    @Param({
+        "/src/main/resources/%file_name%%file_extension%",
+        "/%base_dirname%/$version/src/main/%file_pathname%/%file_name%_%two_letters_code%"
+                + "%file_extension%",
+        "no tokens present in this value, just plain text to scan"
+    })
+    private String value;
+
+    private TokenReplacer tokenReplacer;
+    private String[] names;
+    private String[] values;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> tokens = new HashMap<>();
+        tokens.put("%base_dirname%", "project");
+        tokens.put("$version", "1.0.0");
+        for (int i = tokens.size(); i < tokenCount; i++) {
+            tokens.put("%token" + i + "%", "value" + i);
+        }
+
+        tokenReplacer = new TokenReplacer(tokens);
+        names = tokens.keySet().toArray(new String[0]);
+        values = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            values[i] = tokens.get(names[i]);
+        }
+    }
+
+    @Benchmark
+    public String tokenReplacer() {
+        return tokenReplacer.replace(value);
+    }
+
+    @Benchmark
+    public String replaceEach() {
+        return StringUtils.replaceEach(value, names, values);
+    }
+}
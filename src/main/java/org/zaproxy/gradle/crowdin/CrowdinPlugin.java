@@ -29,6 +29,7 @@ import org.zaproxy.gradle.crowdin.tasks.ListAllCrowdinFiles;
 import org.zaproxy.gradle.crowdin.tasks.ListCrowdinFiles;
 import org.zaproxy.gradle.crowdin.tasks.ListSourceFiles;
 import org.zaproxy.gradle.crowdin.tasks.ListTranslationProgress;
+import org.zaproxy.gradle.crowdin.tasks.UpdateProjectTranslations;
 import org.zaproxy.gradle.crowdin.tasks.UploadSourceFiles;
 
 /** The plugin to integrate with Crowdin. */
@@ -51,6 +52,9 @@ public class CrowdinPlugin implements Plugin<Project> {
     public static final String COPY_PROJECT_TRANSLATIONS_TASK_NAME =
             "crowdinCopyProjectTranslations";
 
+    public static final String UPDATE_PROJECT_TRANSLATIONS_TASK_NAME =
+            "crowdinUpdateProjectTranslations";
+
     public static final String LIST_SOURCE_FILES_TASK_NAME = "crowdinListSourceFiles";
 
     public static final String LIST_CROWDIN_FILES_TASK_NAME = "crowdinListFiles";
@@ -112,6 +116,17 @@ public class CrowdinPlugin implements Plugin<Project> {
                             .set(extension.getConfiguration().getTranslationsPackageDirectory());
                 });
 
+        tasks.register(
+                UPDATE_PROJECT_TRANSLATIONS_TASK_NAME,
+                UpdateProjectTranslations.class,
+                t -> {
+                    t.getAuthToken().set(extension.getCredentials().getToken());
+                    t.getConfigurationFile().set(extension.getConfiguration().getFile());
+                    t.getConfigurationTokens().set(extension.getConfiguration().getTokens());
+                    t.getTranslationsPackageDirectory()
+                            .set(extension.getConfiguration().getTranslationsPackageDirectory());
+                });
+
         tasks.register(
                 LIST_SOURCE_FILES_TASK_NAME,
                 ListSourceFiles.class,
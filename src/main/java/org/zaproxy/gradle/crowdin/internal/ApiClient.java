@@ -21,6 +21,7 @@ package org.zaproxy.gradle.crowdin.internal;
 
 import com.crowdin.client.sourcefiles.model.Directory;
 import com.crowdin.client.sourcefiles.model.FileInfo;
+import java.util.List;
 import org.zaproxy.gradle.crowdin.internal.local.LocalFile;
 import org.zaproxy.gradle.crowdin.internal.remote.RemoteItem;
 
@@ -32,5 +33,19 @@ public interface ApiClient {
 
     FileInfo updateFile(long projectId, long fileId, LocalFile localFile);
 
+    FileInfo moveFile(long projectId, long fileId, Long parentId, String name);
+
     void removeItem(long projectId, RemoteItem item);
+
+    /**
+     * Removes the given items, which are independent of each other.
+     *
+     * <p>By default the items are removed one after the other.
+     *
+     * @param projectId the ID of the project.
+     * @param items the items to remove.
+     */
+    default void removeItems(long projectId, List<RemoteItem> items) {
+        items.forEach(item -> removeItem(projectId, item));
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility methods to create the executors of the requests to Crowdin.
+ *
+ * <p>The virtual threads are used through reflection, they are not available in all the Java
+ * versions supported.
+ */
+public final class ApiExecutors {
+
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = getVirtualThreadExecutorMethod();
+
+    private ApiExecutors() {}
+
+    /**
+     * Tells whether or not the virtual threads are supported by the running JVM.
+     *
+     * @return {@code true} if supported, {@code false} otherwise.
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor for the requests.
+     *
+     * <p>If virtual threads are requested and supported each task runs in its own virtual thread,
+     * otherwise the tasks run in a pool of (daemon) threads. In both cases at most the given
+     * number of tasks run at the same time, the others wait for a permit or in the pool's queue.
+     *
+     * @param maxThreads the maximum number of tasks running at the same time.
+     * @param virtualThreads {@code true} if virtual threads should be used, if supported.
+     * @return the executor, never {@code null}.
+     */
+    public static ExecutorService create(int maxThreads, boolean virtualThreads) {
+        if (virtualThreads && NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return bounded(
+                        (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null),
+                        Math.max(1, maxThreads));
+            } catch (ReflectiveOperationException e) {
+                // Fall back to platform threads.
+            }
+        }
+        return Executors.newFixedThreadPool(Math.max(1, maxThreads), new DaemonThreadFactory());
+    }
+
+    /**
+     * Bounds the tasks running at the same time in the given executor, the tasks wait for a permit
+     * in the thread they were given by the executor.
+     *
+     * @param executor the executor to bound.
+     * @param maxTasks the maximum number of tasks running at the same time.
+     * @return the bounded executor.
+     */
+    static ExecutorService bounded(ExecutorService executor, int maxTasks) {
+        return new BoundedExecutorService(executor, maxTasks);
+    }
+
+    private static Method getVirtualThreadExecutorMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static class BoundedExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService executor;
+        private final Semaphore permits;
+
+        BoundedExecutorService(ExecutorService executor, int maxTasks) {
+            this.executor = executor;
+            this.permits = new Semaphore(maxTasks);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            executor.execute(
+                    () -> {
+                        try {
+                            permits.acquire();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        try {
+                            command.run();
+                        } finally {
+                            permits.release();
+                        }
+                    });
+        }
+
+        @Override
+        public void shutdown() {
+            executor.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return executor.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executor.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executor.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return executor.awaitTermination(timeout, unit);
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+        private final String prefix;
+        private final AtomicInteger threadNumber;
+
+        DaemonThreadFactory() {
+            prefix = "crowdin-api-" + POOL_NUMBER.incrementAndGet() + "-";
+            threadNumber = new AtomicInteger();
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
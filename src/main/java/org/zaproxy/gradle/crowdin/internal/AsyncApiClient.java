@@ -0,0 +1,101 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import com.crowdin.client.sourcefiles.model.Directory;
+import com.crowdin.client.sourcefiles.model.FileInfo;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.zaproxy.gradle.crowdin.internal.local.LocalFile;
+import org.zaproxy.gradle.crowdin.internal.remote.RemoteItem;
+
+/**
+ * An asynchronous variant of the {@link ApiClient}, the requests are done by the given executor.
+ *
+ * <p>Allows to compose the requests that depend on each other, for example, create a directory
+ * and then its files, without blocking the caller.
+ */
+public class AsyncApiClient {
+
+    private final ApiClient client;
+    private final Executor executor;
+
+    /**
+     * Constructs an {@code AsyncApiClient} with the given client and executor.
+     *
+     * @param client the client that does the requests.
+     * @param executor the executor of the requests.
+     */
+    public AsyncApiClient(ApiClient client, Executor executor) {
+        this.client = Objects.requireNonNull(client);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Creates an {@code AsyncApiClient} that does the requests in the calling thread.
+     *
+     * @param client the client that does the requests.
+     * @return the client, never {@code null}.
+     */
+    public static AsyncApiClient direct(ApiClient client) {
+        return new AsyncApiClient(client, Runnable::run);
+    }
+
+    public CompletableFuture<Directory> createDirectory(
+            long projectId, Long parentDirectoryId, String name) {
+        return CompletableFuture.supplyAsync(
+                () -> client.createDirectory(projectId, parentDirectoryId, name), executor);
+    }
+
+    public CompletableFuture<FileInfo> createFile(
+            long projectId, Long parentId, LocalFile localFile) {
+        return CompletableFuture.supplyAsync(
+                () -> client.createFile(projectId, parentId, localFile), executor);
+    }
+
+    public CompletableFuture<FileInfo> updateFile(
+            long projectId, long fileId, LocalFile localFile) {
+        return CompletableFuture.supplyAsync(
+                () -> client.updateFile(projectId, fileId, localFile), executor);
+    }
+
+    public CompletableFuture<FileInfo> moveFile(
+            long projectId, long fileId, Long parentId, String name) {
+        return CompletableFuture.supplyAsync(
+                () -> client.moveFile(projectId, fileId, parentId, name), executor);
+    }
+
+    public CompletableFuture<Void> removeItem(long projectId, RemoteItem item) {
+        return CompletableFuture.runAsync(() -> client.removeItem(projectId, item), executor);
+    }
+
+    /**
+     * Removes the given items, as done by {@link ApiClient#removeItems(long, List)}.
+     *
+     * @param projectId the ID of the project.
+     * @param items the items to remove.
+     * @return the future of the removal.
+     */
+    public CompletableFuture<Void> removeItems(long projectId, List<RemoteItem> items) {
+        return CompletableFuture.runAsync(() -> client.removeItems(projectId, items), executor);
+    }
+}
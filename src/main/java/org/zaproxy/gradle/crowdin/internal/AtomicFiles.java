@@ -0,0 +1,182 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/** Utility methods to write files atomically, safe for concurrent builds. */
+public final class AtomicFiles {
+
+    private static final Map<Path, Semaphore> LOCKS = new ConcurrentHashMap<>();
+
+    private AtomicFiles() {}
+
+    /** An operation that writes some data. */
+    @FunctionalInterface
+    public interface DataWriter {
+
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /** An operation that accesses some files. */
+    @FunctionalInterface
+    public interface LockedOperation {
+
+        void run() throws IOException;
+    }
+
+    /**
+     * Runs the given operation while holding the lock of the given file.
+     *
+     * <p>The lock is held across processes, through a lock file next to the given file, and
+     * threads.
+     *
+     * @param file the file to lock.
+     * @param operation the operation to run.
+     * @throws IOException if an error occurred while locking or running the operation.
+     */
+    public static void withLock(Path file, LockedOperation operation) throws IOException {
+        try (HeldLock lock = lock(file)) {
+            operation.run();
+        }
+    }
+
+    /**
+     * Acquires the lock of the given file, held until closed.
+     *
+     * <p>The lock is held across processes, through a lock file next to the given file, and
+     * threads, the same as {@link #withLock(Path, LockedOperation)}.
+     *
+     * @param file the file to lock.
+     * @return the lock, to release it.
+     * @throws IOException if an error occurred while locking or if interrupted.
+     */
+    public static HeldLock lock(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().normalize().getParent();
+        Files.createDirectories(dir);
+        Path lockFile = dir.resolve(file.getFileName() + ".lock");
+        Semaphore threadLock = LOCKS.computeIfAbsent(lockFile, k -> new Semaphore(1));
+        try {
+            threadLock.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while locking " + file);
+        }
+
+        FileChannel channel = null;
+        try {
+            channel =
+                    FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            return new HeldLock(threadLock, channel, channel.lock());
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                channel.close();
+            }
+            threadLock.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the given file atomically, the data is written to a temporary file which is then
+     * moved into place.
+     *
+     * @param file the file to write.
+     * @param writer the writer of the data.
+     * @throws IOException if an error occurred while writing the file.
+     */
+    public static void write(Path file, DataWriter writer) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tempFile = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                writer.write(out);
+            }
+            move(tempFile, file);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Moves the given file, atomically if supported by the file system, replacing the target.
+     *
+     * @param source the file to move.
+     * @param target the target file.
+     * @throws IOException if an error occurred while moving the file.
+     */
+    public static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(
+                    source,
+                    target,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** The lock of a file, across processes and threads, released once closed. */
+    public static final class HeldLock implements Closeable {
+
+        private final Semaphore threadLock;
+        private final FileChannel channel;
+        private final FileLock lock;
+        private boolean released;
+
+        private HeldLock(Semaphore threadLock, FileChannel channel, FileLock lock) {
+            this.threadLock = threadLock;
+            this.channel = channel;
+            this.lock = lock;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (released) {
+                return;
+            }
+            released = true;
+            try {
+                lock.release();
+                channel.close();
+            } finally {
+                threadLock.release();
+            }
+        }
+    }
+}
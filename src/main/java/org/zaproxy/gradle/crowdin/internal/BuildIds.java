@@ -0,0 +1,138 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes the IDs of the builds of the projects.
+ *
+ * <p>Each line maps the ID of the project to the IDs of its builds, one per group of languages,
+ * {@code projectId=buildId[,buildId...]}.
+ */
+public final class BuildIds {
+
+    private BuildIds() {}
+
+    /**
+     * Reads the IDs of the builds from the given file.
+     *
+     * @param file the file with the IDs.
+     * @return the IDs of the builds by project ID, empty if the file does not exist.
+     * @throws CrowdinException if an error occurred while reading the file or if malformed.
+     */
+    public static Map<Long, List<Long>> read(Path file) {
+        if (Files.notExists(file)) {
+            return Collections.emptyMap();
+        }
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new CrowdinException(
+                    "Failed to read the build IDs from " + file + ", cause: " + e.getMessage(), e);
+        }
+
+        Map<Long, List<Long>> builds = new LinkedHashMap<>();
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int idx = line.indexOf('=');
+            if (idx == -1) {
+                throw malformed(file, line, null);
+            }
+            try {
+                List<Long> ids = new ArrayList<>();
+                for (String id : line.substring(idx + 1).split(",", -1)) {
+                    ids.add(Long.valueOf(id.trim()));
+                }
+                builds.put(Long.valueOf(line.substring(0, idx).trim()), ids);
+            } catch (NumberFormatException e) {
+                throw malformed(file, line, e);
+            }
+        }
+        return builds;
+    }
+
+    /**
+     * Writes the IDs of the builds to the given file.
+     *
+     * @param file the file to write to.
+     * @param builds the IDs of the builds by project ID.
+     * @throws CrowdinException if an error occurred while writing the file.
+     */
+    public static void write(Path file, Map<Long, List<Long>> builds) {
+        List<String> lines = new ArrayList<>(builds.size());
+        builds.forEach(
+                (projectId, ids) ->
+                        lines.add(
+                                projectId
+                                        + "="
+                                        + ids.stream()
+                                                .map(String::valueOf)
+                                                .collect(Collectors.joining(","))));
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new CrowdinException(
+                    "Failed to write the build IDs to " + file + ", cause: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Tells whether or not the given IDs of the builds of a project are stale, that is, the latest
+     * finished build is newer than all of them, for example, the IDs were left over from an earlier
+     * run.
+     *
+     * <p>The IDs are compared, not the times, the IDs of the builds increase as they are created
+     * while the times of the server might not match the local times.
+     *
+     * @param ids the IDs of the builds of the project.
+     * @param latestBuildId the ID of the latest finished build, might be {@code null}.
+     * @return {@code true} if the IDs are stale, {@code false} otherwise.
+     */
+    public static boolean isStale(List<Long> ids, Long latestBuildId) {
+        if (latestBuildId == null) {
+            return false;
+        }
+        for (Long id : ids) {
+            if (id >= latestBuildId) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CrowdinException malformed(Path file, String line, Exception cause) {
+        return new CrowdinException("Malformed build IDs in " + file + ", line: " + line, cause);
+    }
+}
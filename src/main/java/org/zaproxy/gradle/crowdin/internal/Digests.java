@@ -0,0 +1,89 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** Utility methods to create the digests of the files, in hexadecimal. */
+public final class Digests {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private Digests() {}
+
+    /**
+     * Creates the message digest used for the files.
+     *
+     * @return the message digest, never {@code null}.
+     */
+    public static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Converts the given digest to hexadecimal.
+     *
+     * @param digest the digest.
+     * @return the digest in hexadecimal.
+     */
+    public static String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * Gets the digest of the content of the given file.
+     *
+     * @param file the file.
+     * @return the digest, in hexadecimal.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    public static String digest(Path file) throws IOException {
+        MessageDigest messageDigest = createMessageDigest();
+        update(messageDigest, file);
+        return toHex(messageDigest.digest());
+    }
+
+    /**
+     * Updates the given message digest with the content of the given file.
+     *
+     * @param messageDigest the message digest to update.
+     * @param file the file.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    public static void update(MessageDigest messageDigest, Path file) throws IOException {
+        byte[] buffer = new byte[8192];
+        try (InputStream is = Files.newInputStream(file)) {
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** Splits the target languages of a build into groups, built separately. */
+public final class LanguageShards {
+
+    private LanguageShards() {}
+
+    /**
+     * Splits the given languages into groups of at most the given size.
+     *
+     * <p>The languages are split evenly, the sizes of the groups differ at most by one. A single
+     * group with all the languages is returned if the size is not positive or not smaller than
+     * the number of languages.
+     *
+     * @param languages the IDs of the languages.
+     * @param size the maximum number of languages per group.
+     * @return the groups of languages, never empty.
+     */
+    public static List<List<String>> split(List<String> languages, int size) {
+        if (size <= 0 || languages.size() <= size) {
+            return Collections.singletonList(languages);
+        }
+
+        int count = (languages.size() + size - 1) / size;
+        int base = languages.size() / count;
+        int remainder = languages.size() % count;
+        List<List<String>> shards = new ArrayList<>(count);
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int end = start + base + (i < remainder ? 1 : 0);
+            shards.add(new ArrayList<>(languages.subList(start, end)));
+            start = end;
+        }
+        return shards;
+    }
+}
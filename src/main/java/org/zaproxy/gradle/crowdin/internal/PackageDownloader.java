@@ -0,0 +1,388 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipFile;
+
+/**
+ * Downloads the translation packages, resuming the downloads that did not complete.
+ *
+ * <p>The package is downloaded to a partial file, specific to the build, resumed with range
+ * requests, and moved into place once verified to be complete and a valid zip file. A download
+ * that stops receiving data for longer than the timeout is aborted and retried. The connections
+ * are reused between downloads, the downloader can be used concurrently.
+ */
+public class PackageDownloader {
+
+    private static final String PART_EXTENSION = ".part";
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-\\d+/(\\d+|\\*)");
+
+    private static final ScheduledExecutorService IDLE_TIMER = createIdleTimer();
+
+    private final SimpleLogger logger;
+    private final HttpClient client;
+    private final Duration timeout;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+
+    /** A reader of the content of a package. */
+    @FunctionalInterface
+    public interface PackageReader {
+
+        /**
+         * Reads the content of the package.
+         *
+         * @param in the content of the package.
+         * @throws IOException if an error occurred while reading the content.
+         */
+        void read(InputStream in) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Attempt<T> {
+
+        T run() throws IOException;
+    }
+
+    /**
+     * Constructs a {@code PackageDownloader} with the given settings.
+     *
+     * @param logger the logger.
+     * @param timeout the timeout to connect, to receive the response, and to receive more data of
+     *     the response.
+     * @param maxAttempts the maximum number of attempts of each download.
+     * @param retryDelay the delay before the second attempt, doubled in each subsequent attempt.
+     */
+    public PackageDownloader(
+            SimpleLogger logger, Duration timeout, int maxAttempts, Duration retryDelay) {
+        this.logger = logger;
+        this.client =
+                HttpClient.newBuilder()
+                        .connectTimeout(timeout)
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .build();
+        this.timeout = timeout;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Downloads the package of the given build.
+     *
+     * <p>The digest of the package is computed while downloading, reading from the file system
+     * only the part downloaded previously, if resumed.
+     *
+     * @param location the supplier of the location of the package, called in each attempt.
+     * @param buildId the ID of the build.
+     * @param file the file to where to download the package.
+     * @return the digest of the package, in hexadecimal.
+     * @throws IOException if the package was not downloaded in the allowed attempts.
+     * @see Digests
+     */
+    public String download(Supplier<URI> location, long buildId, Path file) throws IOException {
+        Path part = file.resolveSibling(file.getFileName() + "." + buildId + PART_EXTENSION);
+        deleteOtherParts(file, part);
+
+        return withAttempts(
+                () -> {
+                    String digest = downloadPart(location.get(), part);
+                    verify(part);
+                    AtomicFiles.move(part, file);
+                    return digest;
+                });
+    }
+
+    /**
+     * Reads the package as downloaded, without writing it to the file system.
+     *
+     * <p>The package is read again from the start in each attempt, the reader should handle the
+     * content read more than once.
+     *
+     * @param location the supplier of the location of the package, called in each attempt.
+     * @param reader the reader of the package.
+     * @throws IOException if the package was not read in the allowed attempts.
+     */
+    public void read(Supplier<URI> location, PackageReader reader) throws IOException {
+        withAttempts(
+                () -> {
+                    HttpRequest request =
+                            HttpRequest.newBuilder(location.get()).timeout(timeout).GET().build();
+                    CompletableFuture<HttpResponse<InputStream>> exchange = sendAsync(request);
+                    HttpResponse<InputStream> response = getResponse(exchange);
+                    try (InputStream body = new IdleTimeoutInputStream(response, exchange)) {
+                        if (response.statusCode() != 200) {
+                            throw new IOException(
+                                    "Unexpected status code: " + response.statusCode());
+                        }
+                        reader.read(body);
+                    }
+                    return null;
+                });
+    }
+
+    private <T> T withAttempts(Attempt<T> attempt) throws IOException {
+        IOException failure = null;
+        for (int i = 1; i <= maxAttempts; i++) {
+            if (i > 1) {
+                sleep(retryDelay.multipliedBy(1L << (i - 2)));
+            }
+            try {
+                return attempt.run();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        throw failure;
+    }
+
+    private static void deleteOtherParts(Path file, Path part) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (Files.notExists(dir)) {
+            return;
+        }
+        String glob = file.getFileName() + ".*" + PART_EXTENSION;
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(dir, glob)) {
+            for (Path other : parts) {
+                if (!other.getFileName().equals(part.getFileName())) {
+                    Files.deleteIfExists(other);
+                }
+            }
+        }
+    }
+
+    private String downloadPart(URI uri, Path part) throws IOException {
+        long offset = Files.exists(part) ? Files.size(part) : 0;
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(timeout).GET();
+        if (offset > 0) {
+            logger.lifecycle("Resuming download of {} from byte {}.", part.getFileName(), offset);
+            request.header("Range", "bytes=" + offset + "-");
+        }
+
+        CompletableFuture<HttpResponse<InputStream>> exchange = sendAsync(request.build());
+        HttpResponse<InputStream> response = getResponse(exchange);
+        try (InputStream body = new IdleTimeoutInputStream(response, exchange)) {
+            long total;
+            boolean append;
+            switch (response.statusCode()) {
+                case 200:
+                    total = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+                    append = false;
+                    break;
+                case 206:
+                    total = getTotal(response, offset, part);
+                    append = true;
+                    break;
+                case 416:
+                    Files.deleteIfExists(part);
+                    throw new IOException("Range not satisfiable, restarting the download.");
+                default:
+                    throw new IOException("Unexpected status code: " + response.statusCode());
+            }
+
+            MessageDigest messageDigest = Digests.createMessageDigest();
+            if (append) {
+                Digests.update(messageDigest, part);
+            }
+            try (OutputStream out =
+                    new DigestOutputStream(
+                            Files.newOutputStream(
+                                    part,
+                                    StandardOpenOption.CREATE,
+                                    StandardOpenOption.WRITE,
+                                    append
+                                            ? StandardOpenOption.APPEND
+                                            : StandardOpenOption.TRUNCATE_EXISTING),
+                            messageDigest)) {
+                body.transferTo(out);
+            }
+
+            long size = Files.size(part);
+            if (total != -1 && size != total) {
+                throw new IOException(
+                        "Incomplete download, expected " + total + " bytes but got " + size);
+            }
+            return Digests.toHex(messageDigest.digest());
+        }
+    }
+
+    private CompletableFuture<HttpResponse<InputStream>> sendAsync(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private static HttpResponse<InputStream> getResponse(
+            CompletableFuture<HttpResponse<InputStream>> exchange) throws IOException {
+        try {
+            return exchange.get();
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CrowdinException("Interrupted while downloading the package.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static long getTotal(HttpResponse<?> response, long offset, Path part)
+            throws IOException {
+        String contentRange = response.headers().firstValue("Content-Range").orElse("");
+        Matcher matcher = CONTENT_RANGE.matcher(contentRange);
+        if (!matcher.matches() || Long.parseLong(matcher.group(1)) != offset) {
+            Files.deleteIfExists(part);
+            throw new IOException("Unexpected content range, restarting the download.");
+        }
+        String total = matcher.group(2);
+        return "*".equals(total) ? -1 : Long.parseLong(total);
+    }
+
+    private static void verify(Path part) throws IOException {
+        try (ZipFile zip = new ZipFile(part.toFile())) {
+            // Opened, the central directory is valid.
+        } catch (IOException e) {
+            Files.deleteIfExists(part);
+            throw new IOException("Downloaded package is not valid: " + e.getMessage(), e);
+        }
+    }
+
+    private static ScheduledExecutorService createIdleTimer() {
+        ScheduledThreadPoolExecutor timer =
+                new ScheduledThreadPoolExecutor(
+                        1,
+                        r -> {
+                            Thread thread = new Thread(r, "crowdin-download-idle-timer");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private static void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CrowdinException("Interrupted while downloading the package.", e);
+        }
+    }
+
+    /**
+     * The body of a response, closed if a read receives no data within the timeout.
+     *
+     * <p>The timeout of the request bounds only the wait for the response headers, the body is
+     * read in chunks and the exchange cancelled if a read stalls, which unblocks the read. The
+     * time spent by the caller between reads is not counted.
+     */
+    private class IdleTimeoutInputStream extends FilterInputStream {
+
+        private final CompletableFuture<?> exchange;
+        private final long timeoutNanos;
+        private final ScheduledFuture<?> watchdog;
+        private volatile long lastProgress;
+        private volatile boolean reading;
+        private volatile boolean stalled;
+
+        IdleTimeoutInputStream(HttpResponse<InputStream> response, CompletableFuture<?> exchange) {
+            super(response.body());
+            this.exchange = exchange;
+            this.timeoutNanos = timeout.toNanos();
+            this.lastProgress = System.nanoTime();
+            long period = Math.max(1, timeoutNanos / 4);
+            this.watchdog =
+                    IDLE_TIMER.scheduleWithFixedDelay(
+                            this::checkProgress, period, period, TimeUnit.NANOSECONDS);
+        }
+
+        private void checkProgress() {
+            if (!reading || System.nanoTime() - lastProgress < timeoutNanos) {
+                return;
+            }
+            stalled = true;
+            watchdog.cancel(false);
+            exchange.cancel(true);
+            try {
+                in.close();
+            } catch (IOException e) {
+                // Nothing to do, the read fails anyway.
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            lastProgress = System.nanoTime();
+            reading = true;
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                if (stalled) {
+                    throw new IOException(
+                            "No data received in " + timeout.toMillis() + " ms, download stalled.",
+                            e);
+                }
+                throw e;
+            } finally {
+                reading = false;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            watchdog.cancel(false);
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * The metadata of a downloaded translation package, the ID of the build and the size, last
+ * modified time, and digest of the package, to not download the same build again.
+ *
+ * <p>The metadata is kept in a file next to the package.
+ */
+public final class PackageMetadata {
+
+    private static final String FILE_EXTENSION = ".properties";
+
+    private static final String BUILD_ID = "buildId";
+    private static final String SIZE = "size";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String DIGEST = "digest";
+
+    private final long buildId;
+    private final long size;
+    private final long lastModified;
+    private final String digest;
+
+    /**
+     * Constructs a {@code PackageMetadata} with the given data.
+     *
+     * @param buildId the ID of the build.
+     * @param size the size of the package.
+     * @param lastModified the last modified time of the package, in milliseconds, or {@code -1}
+     *     if unknown.
+     * @param digest the digest of the package, in hexadecimal.
+     */
+    public PackageMetadata(long buildId, long size, long lastModified, String digest) {
+        this.buildId = buildId;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.digest = digest;
+    }
+
+    public long getBuildId() {
+        return buildId;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    /**
+     * Tells whether or not the given package is of the given build, that is, the metadata is of
+     * the build and the package still has the size and digest recorded.
+     *
+     * <p>The package is read only if its last modified time no longer matches the one recorded.
+     *
+     * @param buildId the ID of the build.
+     * @param packageFile the package.
+     * @return {@code true} if the package is of the build, {@code false} otherwise.
+     */
+    public boolean isCurrent(long buildId, Path packageFile) {
+        if (this.buildId != buildId) {
+            return false;
+        }
+
+        try {
+            if (Files.notExists(packageFile)) {
+                return false;
+            }
+            BasicFileAttributes attributes =
+                    Files.readAttributes(packageFile, BasicFileAttributes.class);
+            if (attributes.size() != size) {
+                return false;
+            }
+            if (attributes.lastModifiedTime().toMillis() == lastModified) {
+                return true;
+            }
+            return digest.equals(Digests.digest(packageFile));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates the metadata of the given package, with the digest computed while downloading it.
+     *
+     * @param buildId the ID of the build.
+     * @param packageFile the package.
+     * @param digest the digest of the package, in hexadecimal.
+     * @return the metadata, with the size and last modified time of the package.
+     * @throws IOException if an error occurred while reading the attributes of the package.
+     */
+    public static PackageMetadata create(long buildId, Path packageFile, String digest)
+            throws IOException {
+        BasicFileAttributes attributes =
+                Files.readAttributes(packageFile, BasicFileAttributes.class);
+        return new PackageMetadata(
+                buildId, attributes.size(), attributes.lastModifiedTime().toMillis(), digest);
+    }
+
+    /**
+     * Gets the file of the metadata of the given package.
+     *
+     * @param packageFile the package.
+     * @return the file of the metadata.
+     */
+    public static Path getFile(Path packageFile) {
+        return packageFile.resolveSibling(packageFile.getFileName() + FILE_EXTENSION);
+    }
+
+    /**
+     * Reads the metadata of the given package.
+     *
+     * @param packageFile the package.
+     * @return the metadata, empty if none or not readable.
+     */
+    public static Optional<PackageMetadata> read(Path packageFile) {
+        Path file = getFile(packageFile);
+        if (Files.notExists(file)) {
+            return Optional.empty();
+        }
+
+        Properties properties = new Properties();
+        try (InputStream is = Files.newInputStream(file)) {
+            properties.load(is);
+            String digest = properties.getProperty(DIGEST);
+            if (digest == null) {
+                return Optional.empty();
+            }
+            return Optional.of(
+                    new PackageMetadata(
+                            Long.parseLong(properties.getProperty(BUILD_ID)),
+                            Long.parseLong(properties.getProperty(SIZE)),
+                            Long.parseLong(properties.getProperty(LAST_MODIFIED, "-1")),
+                            digest));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the metadata of the given package.
+     *
+     * @param packageFile the package.
+     * @throws CrowdinException if an error occurred while writing the metadata.
+     */
+    public void write(Path packageFile) {
+        Properties properties = new Properties();
+        properties.setProperty(BUILD_ID, Long.toString(buildId));
+        properties.setProperty(SIZE, Long.toString(size));
+        properties.setProperty(LAST_MODIFIED, Long.toString(lastModified));
+        properties.setProperty(DIGEST, digest);
+
+        Path file = getFile(packageFile);
+        try (OutputStream os = Files.newOutputStream(file)) {
+            properties.store(os, null);
+        } catch (IOException e) {
+            throw new CrowdinException(
+                    "Failed to write the metadata of the package "
+                            + packageFile
+                            + ", cause: "
+                            + e.getMessage(),
+                    e);
+        }
+    }
+
+    /**
+     * Deletes the metadata of the given package, if any.
+     *
+     * @param packageFile the package.
+     * @throws CrowdinException if an error occurred while deleting the metadata.
+     */
+    public static void delete(Path packageFile) {
+        try {
+            Files.deleteIfExists(getFile(packageFile));
+        } catch (IOException e) {
+            throw new CrowdinException(
+                    "Failed to delete the metadata of the package "
+                            + packageFile
+                            + ", cause: "
+                            + e.getMessage(),
+                    e);
+        }
+    }
+}
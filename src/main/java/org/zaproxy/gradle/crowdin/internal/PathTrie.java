@@ -0,0 +1,92 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A trie of directories, to find the directories that contain a path in a single walk of the path,
+ * regardless of the number of directories.
+ *
+ * <p>The paths are separated with {@code /}, leading and trailing separators of the directories
+ * are ignored, the root directory contains all paths.
+ *
+ * @param <T> the type of the values of the directories.
+ */
+public class PathTrie<T> {
+
+    private static final char SEPARATOR = '/';
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Adds the given value for the given directory.
+     *
+     * @param dir the directory.
+     * @param value the value.
+     */
+    public void put(String dir, T value) {
+        Node<T> node = root;
+        for (String segment : dir.split(String.valueOf(SEPARATOR))) {
+            if (!segment.isEmpty()) {
+                node = node.children.computeIfAbsent(segment, k -> new Node<>());
+            }
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * Finds the values of the directories that contain the given path, from the outermost
+     * directory.
+     *
+     * @param path the path, relative to the root directory.
+     * @param consumer the consumer of each value found and the path relative to its directory.
+     */
+    public void find(String path, BiConsumer<T, String> consumer) {
+        Node<T> node = root;
+        int start = 0;
+        while (start < path.length()) {
+            if (!node.values.isEmpty()) {
+                String relativePath = path.substring(start);
+                node.values.forEach(value -> consumer.accept(value, relativePath));
+            }
+
+            int end = path.indexOf(SEPARATOR, start);
+            if (end == -1) {
+                return;
+            }
+            node = node.children.get(path.substring(start, end));
+            if (node == null) {
+                return;
+            }
+            start = end + 1;
+        }
+    }
+
+    private static class Node<T> {
+
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private final List<T> values = new ArrayList<>(1);
+    }
+}
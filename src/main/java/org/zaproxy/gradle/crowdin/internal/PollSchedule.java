@@ -0,0 +1,75 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.time.Duration;
+
+/**
+ * The schedule of the polls of an operation that reports its progress, for example, a build.
+ *
+ * <p>The delay between polls starts short and grows up to a maximum, to not wait much for the
+ * operations that finish quickly while not polling too often the ones that take longer. The delay
+ * is shortened if the progress reported indicates that the operation finishes sooner.
+ */
+public class PollSchedule {
+
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double growth;
+    private long delay;
+
+    /**
+     * Constructs a {@code PollSchedule} with the given delays.
+     *
+     * @param initialDelay the delay before the first poll, also the minimum delay.
+     * @param maxDelay the maximum delay.
+     * @param growth the factor of growth of the delay, after each poll.
+     */
+    public PollSchedule(Duration initialDelay, Duration maxDelay, double growth) {
+        if (growth < 1) {
+            throw new IllegalArgumentException("The growth must be equal or greater than one.");
+        }
+        this.initialDelay = initialDelay.toMillis();
+        this.maxDelay = Math.max(this.initialDelay, maxDelay.toMillis());
+        this.growth = growth;
+    }
+
+    /**
+     * Gets the delay until the next poll.
+     *
+     * @param elapsed the time elapsed since the operation started.
+     * @param progress the progress reported by the operation, from 0 to 100, or -1 if unknown.
+     * @return the delay.
+     */
+    public Duration nextDelay(Duration elapsed, int progress) {
+        if (delay == 0) {
+            delay = initialDelay;
+        } else {
+            delay = Math.min(maxDelay, (long) (delay * growth));
+        }
+
+        long next = delay;
+        if (progress > 0 && progress < 100) {
+            long remaining = elapsed.toMillis() * (100 - progress) / progress;
+            next = Math.min(next, Math.max(initialDelay, remaining));
+        }
+        return Duration.ofMillis(next);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import com.crowdin.client.translations.model.CrowdinTranslationCreateProjectBuildForm;
+import com.crowdin.client.translations.model.ProjectBuild;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/** Utility methods to find the builds of a project. */
+public final class ProjectBuilds {
+
+    private static final String FINISHED = "finished";
+
+    private ProjectBuilds() {}
+
+    /**
+     * Finds the latest finished build that is still current, built with the given options and
+     * created after the last activity in the project.
+     *
+     * @param builds the builds of the project.
+     * @param options the options of the build.
+     * @param lastActivity the last activity in the project, might be {@code null} if unknown.
+     * @return the current build, if any.
+     */
+    public static Optional<ProjectBuild> findCurrent(
+            List<ProjectBuild> builds,
+            CrowdinTranslationCreateProjectBuildForm options,
+            Date lastActivity) {
+        if (lastActivity == null) {
+            return Optional.empty();
+        }
+
+        return builds.stream()
+                .filter(build -> FINISHED.equals(build.getStatus()))
+                .filter(build -> build.getCreatedAt() != null)
+                .filter(build -> !lastActivity.after(build.getCreatedAt()))
+                .filter(build -> hasOptions(build, options))
+                .max(Comparator.comparing(ProjectBuild::getCreatedAt));
+    }
+
+    private static boolean hasOptions(
+            ProjectBuild build, CrowdinTranslationCreateProjectBuildForm options) {
+        ProjectBuild.Attributes attributes = build.getAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        return Objects.equals(attributes.getBranchId(), options.getBranchId())
+                && sameLanguages(attributes.getTargetLanguageIds(), options.getTargetLanguageIds())
+                && isTrue(attributes.getSkipUntranslatedStrings())
+                        == isTrue(options.getSkipUntranslatedStrings())
+                && isTrue(attributes.getSkipUntranslatedFiles())
+                        == isTrue(options.getSkipUntranslatedFiles())
+                && isTrue(attributes.getExportApprovedOnly())
+                        == isTrue(options.getExportApprovedOnly());
+    }
+
+    private static boolean sameLanguages(Collection<String> a, Collection<String> b) {
+        return new HashSet<>(nonNull(a)).equals(new HashSet<>(nonNull(b)));
+    }
+
+    private static Collection<String> nonNull(Collection<String> languages) {
+        return languages == null ? List.of() : languages;
+    }
+
+    private static boolean isTrue(Boolean value) {
+        return Boolean.TRUE.equals(value);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Coalesces the requests with the same key, the first request is done and the later ones, even if
+ * concurrent, share its result.
+ *
+ * <p>The requests might be done recursively, for example, to get the parent of a directory.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the results.
+ */
+public class RequestCoalescer<K, V> {
+
+    private final Map<K, CompletableFuture<V>> requests;
+    private final AtomicInteger shared;
+
+    public RequestCoalescer() {
+        requests = new ConcurrentHashMap<>();
+        shared = new AtomicInteger();
+    }
+
+    /**
+     * Gets the result of the request with the given key, doing the request if not yet done.
+     *
+     * <p>A failed request is not done again, the failure is shared as well.
+     *
+     * @param key the key of the request.
+     * @param request the request to do.
+     * @return the future of the result.
+     */
+    public CompletableFuture<V> get(K key, Function<K, CompletableFuture<V>> request) {
+        CompletableFuture<V> result = new CompletableFuture<>();
+        CompletableFuture<V> existing = requests.putIfAbsent(key, result);
+        if (existing != null) {
+            shared.incrementAndGet();
+            return existing;
+        }
+
+        try {
+            request.apply(key)
+                    .whenComplete(
+                            (value, e) -> {
+                                if (e != null) {
+                                    result.completeExceptionally(e);
+                                } else {
+                                    result.complete(value);
+                                }
+                            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of times a request was shared, instead of being done again.
+     *
+     * @return the number of requests shared.
+     */
+    public int getShared() {
+        return shared.get();
+    }
+}
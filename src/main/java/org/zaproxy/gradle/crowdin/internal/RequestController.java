@@ -0,0 +1,348 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Controls the requests to a server, adapting the number of requests in flight to the throttling
+ * and latency of the server, and retrying the requests that failed transiently.
+ *
+ * <p>The limit of requests in flight is increased additively, by one per limit of successful
+ * requests that are not slow, and decreased multiplicatively, halved when throttled and reduced
+ * when the requests are slow compared to the baseline latency of their class. The baseline follows
+ * the fastest request of the class, drifting towards the latencies seen since, so that a sustained
+ * change of latency is no longer considered slow. The requests whose latency depends on the size of
+ * their content, for example, uploads, should not have a class, their latency is not used. The
+ * throttled requests are always retried, they were not processed by the server, while the requests
+ * that failed transiently are retried only if idempotent. The retries wait a jittered exponential
+ * backoff, or the time hinted by the server.
+ *
+ * <p>The requests wait for a permit with a {@link ReentrantLock}, not a monitor, to not pin the
+ * carrier threads when the requests are done in virtual threads.
+ */
+public class RequestController {
+
+    /** The class of the requests executed without a class. */
+    public static final String DEFAULT_CLASS = "default";
+
+    private static final double SLOW_FACTOR = 3;
+    private static final double BASELINE_DRIFT = 0.1;
+    private static final double SLOW_DECREASE = 0.9;
+    private static final double THROTTLED_DECREASE = 0.5;
+
+    private final int maxLimit;
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Function<RuntimeException, Failure> classifier;
+    private final Map<String, Double> baselines;
+    private final ReentrantLock lock;
+    private final Condition permitted;
+
+    private double limit;
+    private int inFlight;
+    private int retries;
+    private int throttles;
+
+    /**
+     * Constructs a {@code RequestController} with the given limits.
+     *
+     * @param maxLimit the maximum number of requests in flight, also the initial limit.
+     * @param maxAttempts the maximum number of attempts of a request.
+     * @param baseDelay the base delay of the backoff.
+     * @param maxDelay the maximum delay of the backoff.
+     * @param classifier the classifier of the failures of the requests.
+     */
+    public RequestController(
+            int maxLimit,
+            int maxAttempts,
+            Duration baseDelay,
+            Duration maxDelay,
+            Function<RuntimeException, Failure> classifier) {
+        if (maxLimit < 1) {
+            throw new IllegalArgumentException("The maxLimit must be greater than zero.");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("The maxAttempts must be greater than zero.");
+        }
+        this.maxLimit = maxLimit;
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = Objects.requireNonNull(baseDelay);
+        this.maxDelay = Objects.requireNonNull(maxDelay);
+        this.classifier = Objects.requireNonNull(classifier);
+        this.limit = maxLimit;
+        this.baselines = new HashMap<>();
+        this.lock = new ReentrantLock();
+        this.permitted = lock.newCondition();
+    }
+
+    /**
+     * Executes the given request, of the {@link #DEFAULT_CLASS default class}, once permitted and
+     * retrying if needed.
+     *
+     * @param <T> the type of the result.
+     * @param request the request.
+     * @param idempotent {@code true} if the request can be done more than once, {@code false}
+     *     otherwise.
+     * @return the result of the request.
+     * @throws RuntimeException the failure of the last attempt.
+     */
+    public <T> T execute(Supplier<T> request, boolean idempotent) {
+        return execute(DEFAULT_CLASS, request, idempotent);
+    }
+
+    /**
+     * Executes the given request, once permitted and retrying if needed.
+     *
+     * @param <T> the type of the result.
+     * @param requestClass the class of the request, its latency is compared with the requests of
+     *     the same class, or {@code null} if the latency should not be used, for example, if it
+     *     depends on the size of the content.
+     * @param request the request.
+     * @param idempotent {@code true} if the request can be done more than once, {@code false}
+     *     otherwise.
+     * @return the result of the request.
+     * @throws RuntimeException the failure of the last attempt.
+     */
+    public <T> T execute(String requestClass, Supplier<T> request, boolean idempotent) {
+        for (int attempt = 1; ; attempt++) {
+            acquire();
+            long start = System.nanoTime();
+            T result;
+            try {
+                result = request.get();
+            } catch (RuntimeException e) {
+                Failure failure = classifier.apply(e);
+                release(
+                        failure.isThrottled() ? Outcome.THROTTLED : Outcome.FAILED,
+                        requestClass,
+                        0);
+                boolean retry = failure.isThrottled() || (failure.isTransient() && idempotent);
+                if (!retry || attempt >= maxAttempts) {
+                    throw e;
+                }
+                waitBeforeRetry(attempt, failure.getRetryAfter(), e);
+                continue;
+            }
+            release(Outcome.SUCCESS, requestClass, System.nanoTime() - start);
+            return result;
+        }
+    }
+
+    /**
+     * Gets the current limit of requests in flight.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of requests retried.
+     *
+     * @return the number of retries.
+     */
+    public int getRetries() {
+        lock.lock();
+        try {
+            return retries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of requests throttled by the server.
+     *
+     * @return the number of throttled requests.
+     */
+    public int getThrottles() {
+        lock.lock();
+        try {
+            return throttles;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire() {
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                try {
+                    permitted.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CrowdinException("Interrupted while waiting to do the request.", e);
+                }
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Outcome outcome, String requestClass, long latency) {
+        lock.lock();
+        try {
+            inFlight--;
+            switch (outcome) {
+                case SUCCESS:
+                    if (isSlow(requestClass, latency)) {
+                        decrease(SLOW_DECREASE);
+                    } else {
+                        limit = Math.min(maxLimit, limit + 1 / limit);
+                    }
+                    break;
+                case THROTTLED:
+                    throttles++;
+                    decrease(THROTTLED_DECREASE);
+                    break;
+                default:
+            }
+            permitted.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isSlow(String requestClass, long latency) {
+        if (requestClass == null) {
+            return false;
+        }
+
+        Double baseline = baselines.get(requestClass);
+        if (baseline == null || latency < baseline) {
+            baselines.put(requestClass, (double) latency);
+            return false;
+        }
+        baselines.put(requestClass, baseline + (latency - baseline) * BASELINE_DRIFT);
+        return latency > baseline * SLOW_FACTOR;
+    }
+
+    private void decrease(double factor) {
+        limit = Math.max(1, limit * factor);
+    }
+
+    private void waitBeforeRetry(int attempt, Duration retryAfter, RuntimeException cause) {
+        lock.lock();
+        try {
+            retries++;
+        } finally {
+            lock.unlock();
+        }
+        long delay = backoff(attempt);
+        if (retryAfter != null) {
+            delay = Math.max(delay, retryAfter.toMillis());
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cause.addSuppressed(e);
+            throw cause;
+        }
+    }
+
+    private long backoff(int attempt) {
+        long cap = maxDelay.toMillis();
+        long exp = baseDelay.toMillis() << Math.min(attempt - 1, 30);
+        long bound = Math.min(cap, exp < 0 ? cap : exp);
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        THROTTLED,
+        FAILED
+    }
+
+    /** The classification of a failed request. */
+    public static final class Failure {
+
+        private static final Failure PERMANENT = new Failure(false, false, null);
+        private static final Failure TRANSIENT = new Failure(false, true, null);
+
+        private final boolean throttled;
+        private final boolean transientFailure;
+        private final Duration retryAfter;
+
+        private Failure(boolean throttled, boolean transientFailure, Duration retryAfter) {
+            this.throttled = throttled;
+            this.transientFailure = transientFailure;
+            this.retryAfter = retryAfter;
+        }
+
+        /**
+         * Gets a failure that should not be retried.
+         *
+         * @return the failure, never {@code null}.
+         */
+        public static Failure permanent() {
+            return PERMANENT;
+        }
+
+        /**
+         * Gets a failure that might succeed if retried, for example, a server error.
+         *
+         * @return the failure, never {@code null}.
+         */
+        public static Failure transientFailure() {
+            return TRANSIENT;
+        }
+
+        /**
+         * Creates a failure caused by the throttling of the server.
+         *
+         * @param retryAfter the time to wait before retrying, might be {@code null} if unknown.
+         * @return the failure, never {@code null}.
+         */
+        public static Failure throttled(Duration retryAfter) {
+            return new Failure(true, true, retryAfter);
+        }
+
+        public boolean isThrottled() {
+            return throttled;
+        }
+
+        public boolean isTransient() {
+            return transientFailure;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+    }
+}
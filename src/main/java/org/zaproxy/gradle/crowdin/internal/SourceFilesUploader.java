@@ -22,31 +22,142 @@ package org.zaproxy.gradle.crowdin.internal;
 import com.crowdin.client.sourcefiles.model.Directory;
 import com.crowdin.client.sourcefiles.model.FileInfo;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
 import org.zaproxy.gradle.crowdin.internal.configuration.Source;
 import org.zaproxy.gradle.crowdin.internal.local.LocalFile;
 import org.zaproxy.gradle.crowdin.internal.local.LocalVfs;
+import org.zaproxy.gradle.crowdin.internal.remote.RemoteFile;
 import org.zaproxy.gradle.crowdin.internal.remote.RemoteItem;
 import org.zaproxy.gradle.crowdin.internal.remote.RemoteVfs;
 
 public class SourceFilesUploader {
 
-    private final ApiClient clientWrapper;
+    private final AsyncApiClient client;
     private final CrowdinProject project;
     private final LocalVfs localVfs;
     private final RemoteVfs remoteVfs;
+    private final Predicate<LocalFile> updateFilter;
+    private final UploadedFiles uploadedFiles;
+    private final UploadJournal journal;
     private final ArrayDeque<VfsNode<RemoteItem>> nodesToRemove;
+    private final List<VfsNode<LocalFile>> filesToAdd;
+    private final RequestCoalescer<String, Long> directories;
+    private final List<CompletableFuture<?>> operations;
+    private final AtomicInteger filesCreated;
+    private final AtomicInteger filesUpdated;
+    private final AtomicInteger filesResumed;
+    private final AtomicInteger filesMoved;
+    private int itemsRemoved;
+    private int removalsSaved;
 
     public SourceFilesUploader(
             ApiClient clientWrapper,
             CrowdinProject project,
             LocalVfs localVfs,
             RemoteVfs remoteVfs) {
-        this.clientWrapper = clientWrapper;
+        this(
+                AsyncApiClient.direct(clientWrapper),
+                project,
+                localVfs,
+                remoteVfs,
+                file -> true,
+                UploadedFiles.inMemory(),
+                UploadJournal.inMemory());
+    }
+
+    /**
+     * Constructs a {@code SourceFilesUploader} that updates only the existing files accepted by
+     * the given filter.
+     *
+     * <p>Missing files and directories are always created and the ones no longer present locally
+     * always removed, unless the files were moved, which are then moved in Crowdin as well.
+     *
+     * <p>The requests that do not depend on each other are done concurrently, as allowed by the
+     * client, the files are created as soon as their directory is.
+     *
+     * @param client the client to access Crowdin.
+     * @param project the Crowdin project.
+     * @param localVfs the local files.
+     * @param remoteVfs the files in Crowdin.
+     * @param updateFilter the filter of the files that should be updated.
+     * @param uploadedFiles the record of the uploaded files, to detect the files moved.
+     * @param journal the journal of the upload, the files already uploaded are not updated again.
+     */
+    public SourceFilesUploader(
+            AsyncApiClient client,
+            CrowdinProject project,
+            LocalVfs localVfs,
+            RemoteVfs remoteVfs,
+            Predicate<LocalFile> updateFilter,
+            UploadedFiles uploadedFiles,
+            UploadJournal journal) {
+        this.client = Objects.requireNonNull(client);
         this.project = project;
         this.localVfs = localVfs;
         this.remoteVfs = remoteVfs;
+        this.updateFilter = updateFilter;
+        this.uploadedFiles = Objects.requireNonNull(uploadedFiles);
+        this.journal = Objects.requireNonNull(journal);
         this.nodesToRemove = new ArrayDeque<>();
+        this.filesToAdd = new ArrayList<>();
+        this.directories = new RequestCoalescer<>();
+        this.operations = new ArrayList<>();
+        this.filesCreated = new AtomicInteger();
+        this.filesUpdated = new AtomicInteger();
+        this.filesResumed = new AtomicInteger();
+        this.filesMoved = new AtomicInteger();
+    }
+
+    public int getFilesCreated() {
+        return filesCreated.get();
+    }
+
+    public int getFilesUpdated() {
+        return filesUpdated.get();
+    }
+
+    /**
+     * Gets the number of files not updated, because already uploaded by a previous upload that did
+     * not complete.
+     *
+     * @return the number of files resumed.
+     */
+    public int getFilesResumed() {
+        return filesResumed.get();
+    }
+
+    public int getFilesMoved() {
+        return filesMoved.get();
+    }
+
+    public int getItemsRemoved() {
+        return itemsRemoved;
+    }
+
+    /**
+     * Gets the number of remove requests not done, because the items were removed along with
+     * their parent directory.
+     *
+     * @return the number of remove requests saved.
+     */
+    public int getRemovalsSaved() {
+        return removalsSaved;
     }
 
     public void upload() {
@@ -58,7 +169,12 @@ public class SourceFilesUploader {
 
             localVfs.diff(remoteVfs, crowdinDir).traverse(this::processResults);
         }
-        nodesToRemove.forEach(node -> clientWrapper.removeItem(project.getId(), node.getData()));
+
+        moveFiles();
+        filesToAdd.forEach(this::uploadFile);
+        awaitOperations();
+
+        removeItems();
     }
 
     private void processResults(String path, VfsNode<DiffResult<LocalFile, RemoteItem>> node) {
@@ -83,44 +199,290 @@ public class SourceFilesUploader {
 
     private void add(VfsNode<LocalFile> local) {
         if (local.hasData()) {
-            uploadFile(local);
+            filesToAdd.add(local);
         } else {
-            createDirectories(local);
+            operations.add(getDirectoryId(local));
         }
     }
 
-    private void uploadFile(VfsNode<LocalFile> local) {
-        Long parentId = getId(remoteVfs.get(local.getParent().getPath()));
-        FileInfo remoteFile = clientWrapper.createFile(project.getId(), parentId, local.getData());
-        remoteVfs.add(remoteFile);
-    }
+    /**
+     * Gets the ID of the remote directory of the given local directory, creating it and its
+     * parents if they do not exist.
+     *
+     * <p>The directory is created just once, the operations that depend on it share the creation
+     * even if in flight.
+     */
+    private CompletableFuture<Long> getDirectoryId(VfsNode<LocalFile> local) {
+        if (local == null || local.isRoot()) {
+            return CompletableFuture.completedFuture(null);
+        }
 
-    private void createDirectories(VfsNode<LocalFile> local) {
-        local.walk(
-                (path, node) -> {
-                    VfsNode<RemoteItem> directory = remoteVfs.get(path);
-                    if (directory != null) {
-                        return;
+        return directories.get(
+                local.getPath(),
+                path -> {
+                    VfsNode<RemoteItem> remote = getRemote(path);
+                    if (remote != null) {
+                        return CompletableFuture.completedFuture(getId(remote));
                     }
+                    return getDirectoryId(local.getParent())
+                            .thenCompose(
+                                    parentId ->
+                                            client.createDirectory(
+                                                    project.getId(), parentId, local.getName()))
+                            .thenApply(
+                                    directory -> {
+                                        addRemote(directory);
+                                        return directory.getId();
+                                    });
+                });
+    }
 
-                    Long parentDirectoryId = null;
-                    if (node.getParent() != null && !node.getParent().isRoot()) {
-                        parentDirectoryId = getId(remoteVfs.get(node.getParent().getPath()));
-                    }
+    /**
+     * Moves the removed files that match the added files, by digest of the content and type,
+     * which keeps the translations of the files.
+     *
+     * <p>The digests of the removed files are known only from the files uploaded previously, as
+     * recorded locally, the files are not moved if not recorded (e.g. in a clean checkout).
+     */
+    private void moveFiles() {
+        Map<String, List<VfsNode<RemoteItem>>> removedFiles = getRemovedFilesByDigest();
+        if (removedFiles.isEmpty()) {
+            return;
+        }
 
-                    Directory remoteDirectory =
-                            clientWrapper.createDirectory(
-                                    project.getId(), parentDirectoryId, node.getName());
-                    remoteVfs.add(remoteDirectory);
-                });
+        for (Iterator<VfsNode<LocalFile>> it = filesToAdd.iterator(); it.hasNext(); ) {
+            VfsNode<LocalFile> local = it.next();
+            List<VfsNode<RemoteItem>> candidates = removedFiles.get(local.getData().getDigest());
+            if (candidates == null) {
+                continue;
+            }
+
+            VfsNode<RemoteItem> remote = findSameType(candidates, local.getData());
+            if (remote != null) {
+                candidates.remove(remote);
+                nodesToRemove.remove(remote);
+                operations.add(moveFile(local, remote));
+                it.remove();
+            }
+        }
+    }
+
+    private Map<String, List<VfsNode<RemoteItem>>> getRemovedFilesByDigest() {
+        Map<String, List<VfsNode<RemoteItem>>> removedFiles = new HashMap<>();
+        if (filesToAdd.isEmpty()) {
+            return removedFiles;
+        }
+
+        for (VfsNode<RemoteItem> node : nodesToRemove) {
+            if (!node.hasData() || node.getData().isDirectory()) {
+                continue;
+            }
+
+            UploadedFiles.Entry entry =
+                    uploadedFiles.get(project.getId(), node.getData().getId());
+            if (entry != null) {
+                removedFiles.computeIfAbsent(entry.getDigest(), k -> new ArrayList<>()).add(node);
+            }
+        }
+        return removedFiles;
+    }
+
+    private static VfsNode<RemoteItem> findSameType(
+            List<VfsNode<RemoteItem>> candidates, LocalFile localFile) {
+        for (VfsNode<RemoteItem> candidate : candidates) {
+            if (isSameType(localFile, ((RemoteFile) candidate.getData()).getData())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether or not the given files have the same type, the files without an explicit type
+     * have the type detected by Crowdin from the extension, so the extensions are compared.
+     */
+    private static boolean isSameType(LocalFile localFile, FileInfo remoteFile) {
+        String type = localFile.getType();
+        if (type != null) {
+            return type.equals(remoteFile.getType());
+        }
+        return getExtension(localFile.getName()).equals(getExtension(remoteFile.getName()));
+    }
+
+    private static String getExtension(String name) {
+        if (name == null) {
+            return "";
+        }
+        int idx = name.lastIndexOf('.');
+        return idx == -1 ? "" : name.substring(idx + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private CompletableFuture<Void> moveFile(VfsNode<LocalFile> local, VfsNode<RemoteItem> remote) {
+        LocalFile localFile = local.getData();
+        long fileId = remote.getData().getId();
+        UploadedFiles.Entry entry = uploadedFiles.get(project.getId(), fileId);
+        boolean exportPatternChanged =
+                !Objects.equals(entry.getExportPattern(), exportPattern(localFile));
+
+        return getDirectoryId(local.getParent())
+                .thenCompose(
+                        parentId ->
+                                client.moveFile(
+                                        project.getId(), fileId, parentId, localFile.getName()))
+                .thenCompose(
+                        remoteFile -> {
+                            addRemote(remoteFile);
+                            filesMoved.incrementAndGet();
+                            if (exportPatternChanged) {
+                                return updateFile(fileId, localFile);
+                            }
+                            record(fileId, localFile);
+                            return CompletableFuture.completedFuture(null);
+                        });
+    }
+
+    private void uploadFile(VfsNode<LocalFile> local) {
+        LocalFile localFile = local.getData();
+        operations.add(
+                getDirectoryId(local.getParent())
+                        .thenCompose(
+                                parentId -> client.createFile(project.getId(), parentId, localFile))
+                        .thenAccept(
+                                remoteFile -> {
+                                    addRemote(remoteFile);
+                                    filesCreated.incrementAndGet();
+                                    record(remoteFile.getId(), localFile);
+                                }));
     }
 
     private void update(VfsNode<LocalFile> local, VfsNode<RemoteItem> remote) {
-        if (local.hasData()) {
-            FileInfo remoteFile =
-                    clientWrapper.updateFile(project.getId(), getId(remote), local.getData());
-            remoteVfs.add(remoteFile);
+        if (!local.hasData() || !updateFilter.test(local.getData())) {
+            return;
+        }
+
+        long fileId = getId(remote);
+        LocalFile localFile = local.getData();
+        if (journal.isFileUploaded(
+                project.getId(), fileId, localFile.getDigest(), exportPattern(localFile))) {
+            filesResumed.incrementAndGet();
+            return;
+        }
+        operations.add(updateFile(fileId, localFile));
+    }
+
+    private CompletableFuture<Void> updateFile(long fileId, LocalFile localFile) {
+        return client.updateFile(project.getId(), fileId, localFile)
+                .thenAccept(
+                        remoteFile -> {
+                            addRemote(remoteFile);
+                            filesUpdated.incrementAndGet();
+                            record(fileId, localFile);
+                        });
+    }
+
+    private void record(long fileId, LocalFile localFile) {
+        String digest = localFile.getDigest();
+        String exportPattern = exportPattern(localFile);
+        uploadedFiles.put(project.getId(), fileId, digest, exportPattern);
+        journal.fileUploaded(project.getId(), fileId, digest, exportPattern);
+    }
+
+    private static String exportPattern(LocalFile localFile) {
+        String exportPattern = localFile.getExportPattern();
+        return exportPattern == null ? "" : exportPattern;
+    }
+
+    private VfsNode<RemoteItem> getRemote(String path) {
+        synchronized (remoteVfs) {
+            return remoteVfs.get(path);
+        }
+    }
+
+    private void addRemote(Directory directory) {
+        synchronized (remoteVfs) {
+            remoteVfs.add(directory);
+        }
+    }
+
+    private void addRemote(FileInfo file) {
+        synchronized (remoteVfs) {
+            remoteVfs.add(file);
+        }
+    }
+
+    /**
+     * Waits for all the pending operations, the first failure is thrown with the others
+     * suppressed.
+     */
+    private void awaitOperations() {
+        RuntimeException failure = null;
+        Set<Throwable> failures = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CompletableFuture<?> operation : operations) {
+            try {
+                operation.join();
+            } catch (CompletionException | CancellationException e) {
+                RuntimeException cause = unwrap(e);
+                if (!failures.add(cause)) {
+                    continue;
+                }
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        operations.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static RuntimeException unwrap(RuntimeException e) {
+        if (e instanceof CompletionException && e.getCause() instanceof RuntimeException) {
+            return (RuntimeException) e.getCause();
+        }
+        return e;
+    }
+
+    /**
+     * Removes the top-most items, the children of a removed directory are removed along with it.
+     */
+    private void removeItems() {
+        Set<VfsNode<RemoteItem>> removed = new HashSet<>(nodesToRemove);
+        List<RemoteItem> items = new ArrayList<>();
+        for (VfsNode<RemoteItem> node : nodesToRemove) {
+            if (!hasAncestorIn(node, removed)) {
+                items.add(node.getData());
+            }
+        }
+
+        try {
+            client.removeItems(project.getId(), items).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+
+        for (VfsNode<RemoteItem> node : nodesToRemove) {
+            RemoteItem item = node.getData();
+            if (!item.isDirectory()) {
+                uploadedFiles.remove(project.getId(), item.getId());
+            }
+        }
+        itemsRemoved += nodesToRemove.size();
+        removalsSaved += nodesToRemove.size() - items.size();
+    }
+
+    private static boolean hasAncestorIn(
+            VfsNode<RemoteItem> node, Set<VfsNode<RemoteItem>> nodes) {
+        for (VfsNode<RemoteItem> parent = node.getParent();
+                parent != null;
+                parent = parent.getParent()) {
+            if (nodes.contains(parent)) {
+                return true;
+            }
         }
+        return false;
     }
 
     private static Long getId(VfsNode<RemoteItem> node) {
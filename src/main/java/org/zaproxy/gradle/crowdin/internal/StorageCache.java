@@ -0,0 +1,159 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A cache of the storages uploaded to Crowdin, in a single run.
+ *
+ * <p>The storages are keyed by the digest of the content and the extension of the file name, the
+ * same storage is used for all the files with the same content, in the same or different projects.
+ * The content is uploaded just once even if requested concurrently.
+ *
+ * <p>The storages are recorded in an {@link UploadJournal}, the ones added by a previous upload
+ * that did not complete are reused.
+ */
+public class StorageCache {
+
+    private final UploadJournal journal;
+    private final Map<Key, CompletableFuture<Long>> storages;
+    private final AtomicInteger uploads;
+    private final AtomicInteger reuses;
+
+    public StorageCache() {
+        this(UploadJournal.inMemory());
+    }
+
+    public StorageCache(UploadJournal journal) {
+        this.journal = Objects.requireNonNull(journal);
+        storages = new ConcurrentHashMap<>();
+        uploads = new AtomicInteger();
+        reuses = new AtomicInteger();
+    }
+
+    /**
+     * Gets the ID of the storage with the given content, uploading it if not yet uploaded.
+     *
+     * <p>If the upload fails the exception is thrown and the upload is attempted again on a later
+     * call.
+     *
+     * @param digest the digest of the content.
+     * @param name the name of the file.
+     * @param upload the upload of the content, returns the ID of the storage.
+     * @return the ID of the storage.
+     */
+    public long getStorageId(String digest, String name, Supplier<Long> upload) {
+        Key key = new Key(digest, getExtension(name));
+        CompletableFuture<Long> storage = new CompletableFuture<>();
+        CompletableFuture<Long> existing = storages.putIfAbsent(key, storage);
+        if (existing != null) {
+            reuses.incrementAndGet();
+            return join(existing);
+        }
+
+        try {
+            Long journaledId = journal.getStorageId(key.digest, key.extension);
+            if (journaledId != null) {
+                reuses.incrementAndGet();
+                storage.complete(journaledId);
+                return journaledId;
+            }
+
+            long id = upload.get();
+            uploads.incrementAndGet();
+            journal.storageAdded(key.digest, key.extension, id);
+            storage.complete(id);
+            return id;
+        } catch (RuntimeException | Error e) {
+            storages.remove(key, storage);
+            storage.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of storages uploaded.
+     *
+     * @return the number of uploads.
+     */
+    public int getUploads() {
+        return uploads.get();
+    }
+
+    /**
+     * Gets the number of times a storage was reused, instead of uploading the content again.
+     *
+     * @return the number of reuses.
+     */
+    public int getReuses() {
+        return reuses.get();
+    }
+
+    private static long join(CompletableFuture<Long> storage) {
+        try {
+            return storage.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String getExtension(String name) {
+        int idx = name.lastIndexOf('.');
+        return idx == -1 ? "" : name.substring(idx);
+    }
+
+    private static final class Key {
+
+        private final String digest;
+        private final String extension;
+
+        Key(String digest, String extension) {
+            this.digest = Objects.requireNonNull(digest);
+            this.extension = extension;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * digest.hashCode() + extension.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return digest.equals(other.digest) && extension.equals(other.extension);
+        }
+    }
+}
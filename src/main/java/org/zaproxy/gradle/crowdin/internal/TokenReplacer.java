@@ -19,17 +19,26 @@
  */
 package org.zaproxy.gradle.crowdin.internal;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import org.apache.commons.lang3.StringUtils;
 
-/** A class that replaces defined tokens in a string. */
+/**
+ * A class that replaces defined tokens in a string.
+ *
+ * <p>The tokens are indexed by their first character when set, the values are replaced in a single
+ * pass. At a given position the longest token is replaced and the tokens present in the values
+ * are not replaced.
+ */
 public class TokenReplacer {
 
-    private String[] names;
-    private String[] values;
+    private static final Token[][] NO_CANDIDATES = new Token[0][];
+
+    private char[] firstChars;
+    private Token[][] candidates;
 
     /** Constructs a {@code TokenReplacer} with no tokens. */
     protected TokenReplacer() {
@@ -57,17 +66,38 @@ public class TokenReplacer {
     protected final void updateTokens(Map<String, String> tokens) {
         Objects.requireNonNull(tokens, "The tokens must not be null.");
 
-        names = new String[tokens.size()];
-        values = new String[tokens.size()];
-
-        int i = 0;
-        for (Iterator<Map.Entry<String, String>> it = tokens.entrySet().iterator();
-                it.hasNext();
-                i++) {
-            Map.Entry<String, String> entry = it.next();
-            names[i] = entry.getKey();
-            values[i] =
+        List<Character> chars = new ArrayList<>();
+        List<List<Token>> tokensByChar = new ArrayList<>();
+        for (Map.Entry<String, String> entry : tokens.entrySet()) {
+            String value =
                     Objects.requireNonNull(entry.getValue(), "The token value must not be null.");
+            String name = entry.getKey();
+            if (name == null || name.isEmpty()) {
+                continue;
+            }
+
+            int idx = chars.indexOf(name.charAt(0));
+            if (idx == -1) {
+                idx = chars.size();
+                chars.add(name.charAt(0));
+                tokensByChar.add(new ArrayList<>());
+            }
+            tokensByChar.get(idx).add(new Token(name, value));
+        }
+
+        if (chars.isEmpty()) {
+            firstChars = new char[0];
+            candidates = NO_CANDIDATES;
+            return;
+        }
+
+        firstChars = new char[chars.size()];
+        candidates = new Token[chars.size()][];
+        for (int i = 0; i < firstChars.length; i++) {
+            firstChars[i] = chars.get(i);
+            List<Token> charTokens = tokensByChar.get(i);
+            charTokens.sort(Comparator.comparingInt((Token e) -> e.name.length()).reversed());
+            candidates[i] = charTokens.toArray(new Token[0]);
         }
     }
 
@@ -78,9 +108,57 @@ public class TokenReplacer {
      * @return the value with the tokens replaced.
      */
     public String replace(String value) {
-        if (value == null) {
+        if (value == null || firstChars.length == 0) {
             return value;
         }
-        return StringUtils.replaceEach(value, names, values);
+
+        StringBuilder strBuilder = null;
+        int copied = 0;
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            Token token = match(value, i);
+            if (token == null) {
+                i++;
+                continue;
+            }
+
+            if (strBuilder == null) {
+                strBuilder = new StringBuilder(length + 16);
+            }
+            strBuilder.append(value, copied, i).append(token.value);
+            i += token.name.length();
+            copied = i;
+        }
+
+        if (strBuilder == null) {
+            return value;
+        }
+        return strBuilder.append(value, copied, length).toString();
+    }
+
+    private Token match(String value, int idx) {
+        char c = value.charAt(idx);
+        for (int i = 0; i < firstChars.length; i++) {
+            if (firstChars[i] == c) {
+                for (Token token : candidates[i]) {
+                    if (value.startsWith(token.name, idx)) {
+                        return token;
+                    }
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static class Token {
+
+        private final String name;
+        private final String value;
+
+        Token(String name, String value) {
+            this.name = name;
+            this.value = value;
+        }
     }
 }
@@ -24,23 +24,62 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
 import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
-import org.zaproxy.gradle.crowdin.internal.configuration.DirFilenamePair;
 import org.zaproxy.gradle.crowdin.internal.configuration.Source;
 
 public class TranslationsCopier {
 
+    private static final String PACKAGE_EXTENSION = ".zip";
+
+    private static final int DEFAULT_MAX_THREADS =
+            Math.max(2, Runtime.getRuntime().availableProcessors());
+
     private final SimpleLogger logger;
     private final Path packagesDir;
     private final Predicate<String> filter;
+    private final int maxThreads;
 
     public TranslationsCopier(Path packagesDir, SimpleLogger logger, Predicate<String> filter) {
+        this(packagesDir, logger, filter, DEFAULT_MAX_THREADS);
+    }
+
+    /**
+     * Constructs a {@code TranslationsCopier} with the given maximum number of threads to copy the
+     * files from the packages.
+     *
+     * @param packagesDir the directory with the translation packages.
+     * @param logger the logger.
+     * @param filter the filter of the entries of the packages, {@code true} to copy the entry.
+     * @param maxThreads the maximum number of threads to copy the files.
+     */
+    public TranslationsCopier(
+            Path packagesDir, SimpleLogger logger, Predicate<String> filter, int maxThreads) {
         this.packagesDir = packagesDir;
         this.logger = logger;
         this.filter = filter;
+        this.maxThreads = maxThreads;
     }
 
     public void copy(CrowdinProject project, Path baseOutputDir) {
@@ -50,19 +89,56 @@ public class TranslationsCopier {
                     project.getId());
         }
 
-        Path translationsPackage = packagesDir.resolve(project.getId() + ".zip").toAbsolutePath();
-        if (Files.notExists(translationsPackage)) {
+        List<Path> translationsPackages = findPackages(packagesDir, project.getId());
+        if (translationsPackages.isEmpty()) {
             logger.warn(
                     "No translation package found for project {} in {}",
                     project.getId(),
-                    translationsPackage.getParent());
+                    packagesDir.toAbsolutePath());
             return;
         }
 
+        CopyCounts counts = new CopyCounts();
+        for (Path translationsPackage : translationsPackages) {
+            copy(project, translationsPackage.toAbsolutePath(), baseOutputDir, counts);
+        }
+        counts.report(logger, project);
+    }
+
+    private void copy(
+            CrowdinProject project,
+            Path translationsPackage,
+            Path baseOutputDir,
+            CopyCounts counts) {
+        PathTrie<OutputDir> outputDirs = createOutputDirs(project, baseOutputDir);
         try (ZipFile translations = new ZipFile(translationsPackage.toFile())) {
-            for (Source source : project.getSources()) {
-                Path baseDir = baseOutputDir.resolve(getOutputDir(source));
-                copyFiles(translations, source.getExportPattern(), baseDir);
+            // One copy per output file, the output dirs might overlap, the entry of the last
+            // source in the configuration wins, regardless of the order of the entries.
+            Map<Path, FileCopy> copies = new LinkedHashMap<>();
+            translations.stream()
+                    .filter(e -> !e.isDirectory())
+                    .filter(e -> filter.test(e.getName()))
+                    .forEach(
+                            e -> {
+                                for (OutputFile outputFile :
+                                        getOutputFiles(outputDirs, e.getName())) {
+                                    copies.merge(
+                                            outputFile.file,
+                                            new FileCopy(e, outputFile),
+                                            (a, b) -> b.source >= a.source ? b : a);
+                                }
+                            });
+
+            List<IOException> failures = copyFiles(translations, copies.values(), counts);
+            if (!failures.isEmpty()) {
+                CrowdinException exception =
+                        new CrowdinException(
+                                "Failed to copy "
+                                        + failures.size()
+                                        + " file(s) from the translations package of project "
+                                        + project.getId());
+                failures.forEach(exception::addSuppressed);
+                throw exception;
             }
         } catch (IOException e) {
             throw new CrowdinException(
@@ -74,6 +150,279 @@ public class TranslationsCopier {
         }
     }
 
+    private List<IOException> copyFiles(
+            ZipFile translations, Collection<FileCopy> copies, CopyCounts counts) {
+        List<IOException> failures = Collections.synchronizedList(new ArrayList<>());
+        Set<Path> dirs = new HashSet<>();
+        Set<Path> failedDirs = new HashSet<>();
+        List<FileCopy> pendingCopies = new ArrayList<>(copies.size());
+        for (FileCopy copy : copies) {
+            Path dir = copy.outputFile.getParent();
+            if (dirs.add(dir)) {
+                try {
+                    Files.createDirectories(dir);
+                } catch (IOException e) {
+                    failedDirs.add(dir);
+                    report(
+                            failures,
+                            new IOException(
+                                    "Failed to create directory "
+                                            + dir
+                                            + ", cause: "
+                                            + e.getMessage(),
+                                    e));
+                }
+            }
+            if (!failedDirs.contains(dir)) {
+                pendingCopies.add(copy);
+            }
+        }
+
+        int threads = Math.max(1, Math.min(maxThreads, pendingCopies.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>(pendingCopies.size());
+            for (FileCopy copy : pendingCopies) {
+                tasks.add(executor.submit(() -> copyFile(translations, copy, counts, failures)));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CrowdinException("Interrupted while copying the translations.", e);
+        } catch (ExecutionException e) {
+            throw new CrowdinException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return failures;
+    }
+
+    private void copyFile(
+            ZipFile translations,
+            FileCopy copy,
+            CopyCounts counts,
+            List<IOException> failures) {
+        if (isUnchanged(copy.outputFile, copy.entry)) {
+            counts.unchanged.incrementAndGet();
+            return;
+        }
+
+        try (InputStream is = translations.getInputStream(copy.entry)) {
+            Files.copy(is, copy.outputFile, StandardCopyOption.REPLACE_EXISTING);
+            counts.written.incrementAndGet();
+        } catch (IOException e) {
+            report(
+                    failures,
+                    new IOException(
+                            "Failed to copy "
+                                    + copy.entry.getName()
+                                    + " to "
+                                    + copy.outputFile
+                                    + ", cause: "
+                                    + e.getMessage(),
+                            e));
+        }
+    }
+
+    private void report(List<IOException> failures, IOException e) {
+        logger.error("{}", e.getMessage());
+        failures.add(e);
+    }
+
+    /**
+     * Extracts the translations of the given project from the given package stream, without
+     * reading the package from the file system.
+     *
+     * <p>The entries are extracted as read, with the same mapping and filtering of {@link
+     * #copy(CrowdinProject, Path)}, the files already with the content of the entries are not
+     * written.
+     *
+     * @param project the project.
+     * @param translationsPackage the stream of the translation package, not closed.
+     * @param baseOutputDir the base directory of the output directories of the sources.
+     * @throws IOException if an error occurred while reading the package or writing the files.
+     */
+    public void extract(CrowdinProject project, InputStream translationsPackage, Path baseOutputDir)
+            throws IOException {
+        if (project.getSources() == null || project.getSources().isEmpty()) {
+            logger.lifecycle(
+                    "No files to copy for project {}, no sources defined in the configuration.",
+                    project.getId());
+            return;
+        }
+
+        PathTrie<OutputDir> outputDirs = createOutputDirs(project, baseOutputDir);
+        // The source of each file extracted, the output dirs might overlap, the entry of the last
+        // source in the configuration wins, regardless of the order of the entries.
+        Map<Path, Integer> sources = new HashMap<>();
+        CopyCounts counts = new CopyCounts();
+        ZipInputStream translations = new ZipInputStream(translationsPackage);
+        ZipEntry entry;
+        while ((entry = translations.getNextEntry()) != null) {
+            String name = entry.getName();
+            if (entry.isDirectory() || !filter.test(name)) {
+                continue;
+            }
+
+            List<Path> outputFiles = new ArrayList<>(1);
+            for (OutputFile outputFile : getOutputFiles(outputDirs, name)) {
+                Integer source = sources.get(outputFile.file);
+                if (source == null || source <= outputFile.source) {
+                    sources.put(outputFile.file, outputFile.source);
+                    outputFiles.add(outputFile.file);
+                }
+            }
+            if (outputFiles.isEmpty()) {
+                continue;
+            }
+
+            byte[] content = null;
+            if (entry.getSize() == -1 || entry.getCrc() == -1) {
+                // Size and CRC-32 only known after the data, read it to check the existing files.
+                content = translations.readAllBytes();
+                CRC32 crc = new CRC32();
+                crc.update(content);
+                entry.setSize(content.length);
+                entry.setCrc(crc.getValue());
+            }
+
+            Path contentFile = null;
+            List<Path> changedFiles = new ArrayList<>(1);
+            for (Path outputFile : outputFiles) {
+                if (isUnchanged(outputFile, entry)) {
+                    counts.unchanged.incrementAndGet();
+                    contentFile = outputFile;
+                } else {
+                    changedFiles.add(outputFile);
+                }
+            }
+
+            for (Path outputFile : changedFiles) {
+                Files.createDirectories(outputFile.getParent());
+                if (contentFile == null) {
+                    if (content != null) {
+                        Files.write(outputFile, content);
+                    } else {
+                        Files.copy(translations, outputFile, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    contentFile = outputFile;
+                } else {
+                    Files.copy(contentFile, outputFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+                counts.written.incrementAndGet();
+            }
+        }
+        counts.report(logger, project);
+    }
+
+    /**
+     * Tells whether or not the given file has the content of the given entry, compared by size
+     * and CRC-32, to not write the files unchanged.
+     *
+     * @param file the file.
+     * @param entry the entry of the package.
+     * @return {@code true} if the file has the content of the entry, {@code false} otherwise or
+     *     if the size or CRC-32 of the entry is not known.
+     */
+    private static boolean isUnchanged(Path file, ZipEntry entry) {
+        if (entry.getSize() == -1 || entry.getCrc() == -1) {
+            return false;
+        }
+
+        try {
+            if (!Files.isRegularFile(file) || Files.size(file) != entry.getSize()) {
+                return false;
+            }
+
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[8192];
+            try (InputStream is = Files.newInputStream(file)) {
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                }
+            }
+            return crc.getValue() == entry.getCrc();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static PathTrie<OutputDir> createOutputDirs(
+            CrowdinProject project, Path baseOutputDir) {
+        PathTrie<OutputDir> outputDirs = new PathTrie<>();
+        List<Source> sources = project.getSources();
+        for (int i = 0; i < sources.size(); i++) {
+            Source source = sources.get(i);
+            outputDirs.put(
+                    source.getExportPattern().getDir(),
+                    new OutputDir(i, baseOutputDir.resolve(getOutputDir(source))));
+        }
+        return outputDirs;
+    }
+
+    private static List<OutputFile> getOutputFiles(
+            PathTrie<OutputDir> outputDirs, String entryName) {
+        List<OutputFile> outputFiles = new ArrayList<>(1);
+        outputDirs.find(
+                entryName,
+                (outputDir, relativePath) ->
+                        outputFiles.add(
+                                new OutputFile(
+                                        outputDir.source, outputDir.dir.resolve(relativePath))));
+        return outputFiles;
+    }
+
+    /**
+     * Gets the file name of a translation package of a project.
+     *
+     * <p>A project built in groups of languages has one package per group, all copied.
+     *
+     * @param projectId the ID of the project.
+     * @param shard the index of the group of languages, starting at 1.
+     * @param shards the number of groups of languages.
+     * @return the file name of the package.
+     */
+    public static String getPackageName(long projectId, int shard, int shards) {
+        if (shards <= 1) {
+            return projectId + PACKAGE_EXTENSION;
+        }
+        return projectId + "-" + shard + PACKAGE_EXTENSION;
+    }
+
+    /**
+     * Finds the translation packages of a project, either the single package or the packages of
+     * the groups of languages.
+     *
+     * @param packagesDir the directory with the packages.
+     * @param projectId the ID of the project.
+     * @return the packages found, sorted by name.
+     * @throws CrowdinException if an error occurred while listing the directory.
+     */
+    public static List<Path> findPackages(Path packagesDir, long projectId) {
+        if (Files.notExists(packagesDir)) {
+            return List.of();
+        }
+
+        Pattern name =
+                Pattern.compile(projectId + "(?:-\\d+)?" + Pattern.quote(PACKAGE_EXTENSION));
+        try (Stream<Path> files = Files.list(packagesDir)) {
+            return files.filter(e -> name.matcher(e.getFileName().toString()).matches())
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new CrowdinException(
+                    "Failed to list the translation packages in "
+                            + packagesDir
+                            + ", cause: "
+                            + e.getMessage(),
+                    e);
+        }
+    }
+
     private static String getOutputDir(Source source) {
         String outputDir = source.getOutputDir();
         if (outputDir != null) {
@@ -82,38 +431,56 @@ public class TranslationsCopier {
         return source.getDir();
     }
 
-    private void copyFiles(
-            ZipFile translations, DirFilenamePair exportPattern, Path baseOutputDir) {
-        String path = normalizeDir(exportPattern.getDir());
-        int idx = path.length();
-        translations.stream()
-                .filter(e -> e.getName().startsWith(path))
-                .filter(e -> filter.test(e.getName()))
-                .forEach(
-                        e -> {
-                            if (e.isDirectory()) {
-                                return;
-                            }
+    /** The number of files written and unchanged. */
+    private static class CopyCounts {
 
-                            Path outputFile = baseOutputDir.resolve(e.getName().substring(idx));
-                            copyTo(outputFile, translations, e);
-                        });
+        private final AtomicInteger written = new AtomicInteger();
+        private final AtomicInteger unchanged = new AtomicInteger();
+
+        void report(SimpleLogger logger, CrowdinProject project) {
+            logger.lifecycle(
+                    "Translations of project {}: {} file(s) written, {} unchanged.",
+                    project.getId(),
+                    written.get(),
+                    unchanged.get());
+        }
     }
 
-    private void copyTo(Path outputFile, ZipFile translations, ZipEntry entry) {
-        try {
-            Files.createDirectories(outputFile.getParent());
+    /** The output directory of a source, with the index of the source in the configuration. */
+    private static class OutputDir {
 
-            try (InputStream is = translations.getInputStream(entry)) {
-                Files.copy(is, outputFile, StandardCopyOption.REPLACE_EXISTING);
-            }
-        } catch (IOException e) {
-            throw new CrowdinException(
-                    "Failed to copy file from translation package, cuase: " + e.getMessage(), e);
+        private final int source;
+        private final Path dir;
+
+        OutputDir(int source, Path dir) {
+            this.source = source;
+            this.dir = dir;
         }
     }
 
-    private static String normalizeDir(String dir) {
-        return dir.substring(1, dir.length()) + "/";
+    /** An output file, with the index of the source in the configuration. */
+    private static class OutputFile {
+
+        private final int source;
+        private final Path file;
+
+        OutputFile(int source, Path file) {
+            this.source = source;
+            this.file = file;
+        }
+    }
+
+    /** A copy of an entry of a package to a file. */
+    private static class FileCopy {
+
+        private final ZipEntry entry;
+        private final Path outputFile;
+        private final int source;
+
+        FileCopy(ZipEntry entry, OutputFile outputFile) {
+            this.entry = entry;
+            this.outputFile = outputFile.file;
+            this.source = outputFile.source;
+        }
     }
 }
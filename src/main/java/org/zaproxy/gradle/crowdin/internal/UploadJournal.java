@@ -0,0 +1,318 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A journal of the operations done by an upload, to resume an upload that did not complete.
+ *
+ * <p>The storages added and the files uploaded are appended to the journal as they complete, the
+ * operations recorded within the validity window are trusted by the next upload, which does not
+ * do them again. The journal is deleted once the upload completes.
+ *
+ * <p>The journal is locked while open, across processes, a concurrent upload waits for it to be
+ * closed, and each record is forced to the storage device once appended.
+ */
+public class UploadJournal {
+
+    private static final int MAGIC = 0x43524a4e;
+    private static final int VERSION = 1;
+
+    private static final byte STORAGE_RECORD = 1;
+    private static final byte FILE_RECORD = 2;
+
+    private final Path file;
+    private final Clock clock;
+    private final Map<String, Long> storages;
+    private final Map<String, String> files;
+    private AtomicFiles.HeldLock lock;
+    private FileChannel channel;
+    private DataOutputStream out;
+
+    private UploadJournal(Path file, Clock clock) {
+        this.file = file;
+        this.clock = clock;
+        this.storages = new ConcurrentHashMap<>();
+        this.files = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Opens the journal in the given file.
+     *
+     * <p>The operations older than the given validity are discarded.
+     *
+     * @param file the file of the journal.
+     * @param validity for how long the operations are trusted.
+     * @return the journal, never {@code null}.
+     * @throws IOException if an error occurred while reading or opening the journal.
+     */
+    public static UploadJournal open(Path file, Duration validity) throws IOException {
+        return open(file, validity, Clock.systemUTC());
+    }
+
+    static UploadJournal open(Path file, Duration validity, Clock clock) throws IOException {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(validity);
+        UploadJournal journal = new UploadJournal(file, clock);
+        long notBefore = clock.millis() - validity.toMillis();
+        journal.lock = AtomicFiles.lock(file);
+        try {
+            List<Record> records = read(file, notBefore);
+            AtomicFiles.write(
+                    file,
+                    dos -> {
+                        dos.writeInt(MAGIC);
+                        dos.writeInt(VERSION);
+                        for (Record record : records) {
+                            record.write(dos);
+                        }
+                    });
+            records.forEach(journal::apply);
+            journal.channel =
+                    FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            journal.out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(Channels.newOutputStream(journal.channel)));
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Creates a journal that is not persisted.
+     *
+     * @return the journal, never {@code null}.
+     */
+    public static UploadJournal inMemory() {
+        return new UploadJournal(null, Clock.systemUTC());
+    }
+
+    /**
+     * Gets the ID of the storage added with the given content.
+     *
+     * @param digest the digest of the content.
+     * @param extension the extension of the file name.
+     * @return the ID of the storage, or {@code null} if not added.
+     */
+    public Long getStorageId(String digest, String extension) {
+        return storages.get(storageKey(digest, extension));
+    }
+
+    /**
+     * Records the addition of a storage.
+     *
+     * @param digest the digest of the content.
+     * @param extension the extension of the file name.
+     * @param storageId the ID of the storage.
+     * @throws CrowdinException if an error occurred while writing the journal.
+     */
+    public void storageAdded(String digest, String extension, long storageId) {
+        append(new Record(STORAGE_RECORD, clock.millis(), storageId, 0, digest, extension));
+    }
+
+    /**
+     * Tells whether or not the given file was uploaded with the given content and export pattern.
+     *
+     * @param projectId the ID of the project.
+     * @param fileId the ID of the file.
+     * @param digest the digest of the content.
+     * @param exportPattern the export pattern, empty if none.
+     * @return {@code true} if the file was uploaded, {@code false} otherwise.
+     */
+    public boolean isFileUploaded(
+            long projectId, long fileId, String digest, String exportPattern) {
+        return fileValue(digest, exportPattern).equals(files.get(fileKey(projectId, fileId)));
+    }
+
+    /**
+     * Records the upload of a file.
+     *
+     * @param projectId the ID of the project.
+     * @param fileId the ID of the file.
+     * @param digest the digest of the content.
+     * @param exportPattern the export pattern, empty if none.
+     * @throws CrowdinException if an error occurred while writing the journal.
+     */
+    public void fileUploaded(long projectId, long fileId, String digest, String exportPattern) {
+        append(new Record(FILE_RECORD, clock.millis(), projectId, fileId, digest, exportPattern));
+    }
+
+    /**
+     * Closes the journal, keeping it for a later upload.
+     *
+     * @throws IOException if an error occurred while closing the journal.
+     */
+    public synchronized void close() throws IOException {
+        close(false);
+    }
+
+    /**
+     * Closes and deletes the journal, the upload completed.
+     *
+     * @throws IOException if an error occurred while deleting the journal.
+     */
+    public synchronized void delete() throws IOException {
+        close(true);
+    }
+
+    private void close(boolean delete) throws IOException {
+        try {
+            if (out != null) {
+                out.close();
+            } else if (channel != null) {
+                channel.close();
+            }
+            if (delete && file != null) {
+                Files.deleteIfExists(file);
+            }
+        } finally {
+            out = null;
+            channel = null;
+            if (lock != null) {
+                lock.close();
+                lock = null;
+            }
+        }
+    }
+
+    private synchronized void append(Record record) {
+        apply(record);
+        if (out == null) {
+            return;
+        }
+        try {
+            record.write(out);
+            out.flush();
+            channel.force(false);
+        } catch (IOException e) {
+            throw new CrowdinException("Failed to write the upload journal: " + e.getMessage(), e);
+        }
+    }
+
+    private void apply(Record record) {
+        if (record.type == STORAGE_RECORD) {
+            storages.put(storageKey(record.text1, record.text2), record.id1);
+        } else {
+            files.put(fileKey(record.id1, record.id2), fileValue(record.text1, record.text2));
+        }
+    }
+
+    private static String storageKey(String digest, String extension) {
+        return digest + '\0' + extension;
+    }
+
+    private static String fileKey(long projectId, long fileId) {
+        return projectId + ":" + fileId;
+    }
+
+    private static String fileValue(String digest, String exportPattern) {
+        return digest + '\0' + exportPattern;
+    }
+
+    private static List<Record> read(Path file, long notBefore) throws IOException {
+        List<Record> records = new ArrayList<>();
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return records;
+            }
+            while (true) {
+                Record record = Record.read(in);
+                if (record == null) {
+                    break;
+                }
+                if (record.time >= notBefore) {
+                    records.add(record);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // No previous upload.
+        } catch (EOFException e) {
+            // Truncated, keep the complete records.
+        }
+        return records;
+    }
+
+    private static class Record {
+
+        private final byte type;
+        private final long time;
+        private final long id1;
+        private final long id2;
+        private final String text1;
+        private final String text2;
+
+        Record(byte type, long time, long id1, long id2, String text1, String text2) {
+            this.type = type;
+            this.time = time;
+            this.id1 = id1;
+            this.id2 = id2;
+            this.text1 = Objects.requireNonNull(text1);
+            this.text2 = Objects.requireNonNull(text2);
+        }
+
+        static Record read(DataInputStream in) throws IOException {
+            int type = in.read();
+            if (type == -1) {
+                return null;
+            }
+            if (type != STORAGE_RECORD && type != FILE_RECORD) {
+                throw new EOFException();
+            }
+            return new Record(
+                    (byte) type,
+                    in.readLong(),
+                    in.readLong(),
+                    in.readLong(),
+                    in.readUTF(),
+                    in.readUTF());
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeByte(type);
+            out.writeLong(time);
+            out.writeLong(id1);
+            out.writeLong(id2);
+            out.writeUTF(text1);
+            out.writeUTF(text2);
+        }
+    }
+}
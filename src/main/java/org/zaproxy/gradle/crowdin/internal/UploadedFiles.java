@@ -0,0 +1,220 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A persistent record of the files uploaded to Crowdin, maps the ID of the files to the digest of
+ * the content and the export pattern last uploaded.
+ *
+ * <p>Crowdin does not provide the digest of the source files, the record allows to know the
+ * content of a remote file without downloading it.
+ */
+public class UploadedFiles {
+
+    private static final int MAGIC = 0x43524455;
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final Map<Long, Map<Long, Entry>> projects;
+    private final Set<Long> changedProjects;
+
+    private UploadedFiles(Path file, Map<Long, Map<Long, Entry>> projects) {
+        this.file = file;
+        this.projects = new ConcurrentHashMap<>(projects);
+        this.changedProjects = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Loads the record from the given file.
+     *
+     * <p>If the file does not exist or is not a valid record an empty record is returned.
+     *
+     * @param file the file of the record.
+     * @return the record, never {@code null}.
+     * @throws IOException if an error occurred while reading the record.
+     */
+    public static UploadedFiles load(Path file) throws IOException {
+        Objects.requireNonNull(file);
+        return new UploadedFiles(file, read(file));
+    }
+
+    /**
+     * Creates a record that is not persisted.
+     *
+     * @return the record, never {@code null}.
+     */
+    public static UploadedFiles inMemory() {
+        return new UploadedFiles(null, new HashMap<>());
+    }
+
+    /**
+     * Gets the entry of the given file.
+     *
+     * @param projectId the ID of the project.
+     * @param fileId the ID of the file.
+     * @return the entry, or {@code null} if the file was not uploaded.
+     */
+    public Entry get(long projectId, long fileId) {
+        Map<Long, Entry> files = projects.get(projectId);
+        if (files == null) {
+            return null;
+        }
+        return files.get(fileId);
+    }
+
+    /**
+     * Records the upload of the given file.
+     *
+     * @param projectId the ID of the project.
+     * @param fileId the ID of the file.
+     * @param digest the digest of the content uploaded.
+     * @param exportPattern the export pattern uploaded, might be {@code null}.
+     */
+    public void put(long projectId, long fileId, String digest, String exportPattern) {
+        projects.computeIfAbsent(projectId, k -> new ConcurrentHashMap<>())
+                .put(fileId, new Entry(digest, exportPattern == null ? "" : exportPattern));
+        changedProjects.add(projectId);
+    }
+
+    /**
+     * Removes the given file from the record.
+     *
+     * @param projectId the ID of the project.
+     * @param fileId the ID of the file.
+     */
+    public void remove(long projectId, long fileId) {
+        Map<Long, Entry> files = projects.get(projectId);
+        if (files != null && files.remove(fileId) != null) {
+            changedProjects.add(projectId);
+        }
+    }
+
+    /**
+     * Saves the record, if changed.
+     *
+     * <p>Only the projects changed by this record are replaced, the ones saved concurrently by
+     * other processes are kept.
+     *
+     * @throws IOException if an error occurred while saving the record.
+     */
+    public void save() throws IOException {
+        if (file == null || changedProjects.isEmpty()) {
+            return;
+        }
+
+        AtomicFiles.withLock(
+                file,
+                () -> {
+                    Map<Long, Map<Long, Entry>> merged = read(file);
+                    for (Long projectId : changedProjects) {
+                        merged.put(projectId, projects.get(projectId));
+                    }
+
+                    AtomicFiles.write(file, out -> write(out, merged));
+                    changedProjects.clear();
+                });
+    }
+
+    private static Map<Long, Map<Long, Entry>> read(Path file) throws IOException {
+        Map<Long, Map<Long, Entry>> projects = new HashMap<>();
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return projects;
+            }
+            int projectCount = in.readInt();
+            for (int i = 0; i < projectCount; i++) {
+                long projectId = in.readLong();
+                int fileCount = in.readInt();
+                Map<Long, Entry> files = new ConcurrentHashMap<>();
+                for (int j = 0; j < fileCount; j++) {
+                    files.put(in.readLong(), new Entry(in.readUTF(), in.readUTF()));
+                }
+                projects.put(projectId, files);
+            }
+        } catch (NoSuchFileException e) {
+            // Nothing uploaded yet.
+        } catch (EOFException e) {
+            // Truncated, start over.
+            projects.clear();
+        }
+        return projects;
+    }
+
+    private static void write(DataOutputStream out, Map<Long, Map<Long, Entry>> projects)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(projects.size());
+        for (Map.Entry<Long, Map<Long, Entry>> project : projects.entrySet()) {
+            out.writeLong(project.getKey());
+            out.writeInt(project.getValue().size());
+            for (Map.Entry<Long, Entry> e : project.getValue().entrySet()) {
+                out.writeLong(e.getKey());
+                out.writeUTF(e.getValue().getDigest());
+                out.writeUTF(e.getValue().getExportPattern());
+            }
+        }
+    }
+
+    /** An uploaded file. */
+    public static class Entry {
+
+        private final String digest;
+        private final String exportPattern;
+
+        Entry(String digest, String exportPattern) {
+            this.digest = digest;
+            this.exportPattern = exportPattern;
+        }
+
+        /**
+         * Gets the digest of the content uploaded.
+         *
+         * @return the digest, never {@code null}.
+         */
+        public String getDigest() {
+            return digest;
+        }
+
+        /**
+         * Gets the export pattern uploaded.
+         *
+         * @return the export pattern, empty if none.
+         */
+        public String getExportPattern() {
+            return exportPattern;
+        }
+    }
+}
@@ -21,8 +21,10 @@ package org.zaproxy.gradle.crowdin.internal.local;
 
 import com.crowdin.client.sourcefiles.model.ExportOptions;
 import com.crowdin.client.sourcefiles.model.ImportOptions;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Objects;
+import org.zaproxy.gradle.crowdin.internal.CrowdinException;
 
 public class LocalFile {
 
@@ -32,6 +34,7 @@ public class LocalFile {
     private final ImportOptions importOptions;
     private final ExportOptions exportOptions;
     private final String exportPattern;
+    private final LocalFileIndex index;
 
     public LocalFile(
             String name,
@@ -39,13 +42,15 @@ public class LocalFile {
             String type,
             ImportOptions importOptions,
             ExportOptions exportOptions,
-            String exportPattern) {
+            String exportPattern,
+            LocalFileIndex index) {
         this.name = Objects.requireNonNull(name);
         this.path = path;
         this.type = type;
         this.importOptions = importOptions;
         this.exportOptions = Objects.requireNonNull(exportOptions);
         this.exportPattern = exportPattern;
+        this.index = Objects.requireNonNull(index);
     }
 
     public String getName() {
@@ -72,6 +77,21 @@ public class LocalFile {
         return exportPattern;
     }
 
+    /**
+     * Gets the digest of the content of the file.
+     *
+     * @return the digest, in hexadecimal.
+     * @throws CrowdinException if an error occurred while reading the file.
+     */
+    public String getDigest() {
+        try {
+            return index.getDigest(path);
+        } catch (IOException e) {
+            throw new CrowdinException(
+                    "Failed to read the file " + path + ", cause: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public String toString() {
         return name;
@@ -0,0 +1,259 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal.local;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.zaproxy.gradle.crowdin.internal.AtomicFiles;
+import org.zaproxy.gradle.crowdin.internal.Digests;
+
+/**
+ * A persistent index of the local files, maps the path of the files to their stat data (size,
+ * last modified time, and file key) and content digest.
+ *
+ * <p>The content of a file is read only if its stat data no longer matches the one in the index.
+ * Similar to Git, files modified at or after the time they were hashed, less the granularity of the
+ * timestamps of the file system, are always read again, as the modification might not be
+ * noticeable in the stat data. The time is kept per entry, the index might be saved long after the
+ * files were hashed and the entries merged from other processes keep their own time.
+ *
+ * <p>The index is saved atomically and the saves are serialized across processes through a lock
+ * file, the entries saved concurrently by other processes are merged.
+ */
+public class LocalFileIndex {
+
+    private static final int MAGIC = 0x43524458;
+    private static final int VERSION = 3;
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The granularity assumed for file systems with sub-second timestamps, covers the coarse clock
+     * used by some to set the timestamps.
+     */
+    private static final long FINE_GRANULARITY_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /** The granularity assumed for file systems with whole-second timestamps, as FAT's 2 s. */
+    private static final long COARSE_GRANULARITY_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final Path file;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+    private final Map<String, Entry> updatedEntries;
+
+    private LocalFileIndex(Path file, Clock clock, Map<String, Entry> entries) {
+        this.file = file;
+        this.clock = clock;
+        this.entries = new ConcurrentHashMap<>(entries);
+        this.updatedEntries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Loads the index from the given file.
+     *
+     * <p>If the file does not exist or is not a valid index an empty index is returned.
+     *
+     * @param file the file of the index.
+     * @return the index, never {@code null}.
+     * @throws IOException if an error occurred while reading the index.
+     */
+    public static LocalFileIndex load(Path file) throws IOException {
+        return load(file, Clock.systemUTC());
+    }
+
+    static LocalFileIndex load(Path file, Clock clock) throws IOException {
+        Objects.requireNonNull(file);
+        return new LocalFileIndex(file, clock, read(file));
+    }
+
+    /**
+     * Creates an index that is not persisted.
+     *
+     * @return the index, never {@code null}.
+     */
+    public static LocalFileIndex inMemory() {
+        return new LocalFileIndex(null, Clock.systemUTC(), new HashMap<>());
+    }
+
+    /**
+     * Gets the digest of the content of the given file.
+     *
+     * <p>The content is read only if the stat data of the file does not match the indexed one.
+     *
+     * @param path the file.
+     * @return the digest, in hexadecimal.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    public String getDigest(Path path) throws IOException {
+        String key = path.toAbsolutePath().normalize().toString();
+        long hashTime = toNanos(clock.instant());
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+        String fileKey = toString(attributes.fileKey());
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.matches(size, lastModified, fileKey)) {
+            return entry.digest;
+        }
+
+        entry = new Entry(size, lastModified, fileKey, Digests.digest(path), hashTime);
+        entries.put(key, entry);
+        updatedEntries.put(key, entry);
+        return entry.digest;
+    }
+
+    /**
+     * Saves the index, if changed.
+     *
+     * <p>The entries updated by this index are merged with the ones currently saved, the entries of
+     * files that no longer exist are discarded.
+     *
+     * @throws IOException if an error occurred while saving the index.
+     */
+    public void save() throws IOException {
+        if (file == null || updatedEntries.isEmpty()) {
+            return;
+        }
+
+        AtomicFiles.withLock(
+                file,
+                () -> {
+                    Map<String, Entry> merged = new HashMap<>();
+                    for (Map.Entry<String, Entry> entry : read(file).entrySet()) {
+                        if (Files.exists(Path.of(entry.getKey()))) {
+                            merged.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    merged.putAll(updatedEntries);
+
+                    AtomicFiles.write(file, out -> write(out, merged));
+                    updatedEntries.clear();
+                });
+    }
+
+    private static Map<String, Entry> read(Path file) throws IOException {
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return new HashMap<>();
+            }
+            int count = in.readInt();
+            Map<String, Entry> entries = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                entries.put(
+                        path,
+                        new Entry(
+                                in.readLong(),
+                                in.readLong(),
+                                in.readUTF(),
+                                in.readUTF(),
+                                in.readLong()));
+            }
+            return entries;
+        } catch (NoSuchFileException e) {
+            // Nothing indexed yet.
+        } catch (EOFException e) {
+            // Truncated, start over.
+        }
+        return new HashMap<>();
+    }
+
+    private static void write(DataOutputStream out, Map<String, Entry> entries)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.size());
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            Entry entry = e.getValue();
+            out.writeUTF(e.getKey());
+            out.writeLong(entry.size);
+            out.writeLong(entry.lastModified);
+            out.writeUTF(entry.fileKey);
+            out.writeUTF(entry.digest);
+            out.writeLong(entry.hashTime);
+        }
+    }
+
+    /**
+     * Tells whether or not the given last modified time is too close to the time the file was
+     * hashed to tell if the file was modified after being hashed.
+     *
+     * <p>The granularity of the timestamps is inferred from the last modified time, whole seconds
+     * are assumed to come from a file system with coarse timestamps.
+     *
+     * @param lastModified the last modified time of the file, in nanoseconds.
+     * @param hashTime the time the file was hashed, in nanoseconds.
+     * @return {@code true} if the file might have been modified after being hashed.
+     */
+    static boolean isRacy(long lastModified, long hashTime) {
+        long granularity =
+                lastModified % SECOND_NANOS == 0
+                        ? COARSE_GRANULARITY_NANOS
+                        : FINE_GRANULARITY_NANOS;
+        return lastModified >= hashTime - granularity;
+    }
+
+    private static long toNanos(Instant instant) {
+        return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+    }
+
+    private static String toString(Object fileKey) {
+        return fileKey == null ? "" : fileKey.toString();
+    }
+
+    private static class Entry {
+
+        private final long size;
+        private final long lastModified;
+        private final String fileKey;
+        private final String digest;
+        private final long hashTime;
+
+        Entry(long size, long lastModified, String fileKey, String digest, long hashTime) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fileKey = fileKey;
+            this.digest = digest;
+            this.hashTime = hashTime;
+        }
+
+        boolean matches(long size, long lastModified, String fileKey) {
+            return this.size == size
+                    && this.lastModified == lastModified
+                    && this.fileKey.equals(fileKey)
+                    && !isRacy(lastModified, hashTime);
+        }
+    }
+}
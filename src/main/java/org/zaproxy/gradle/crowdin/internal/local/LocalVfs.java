@@ -19,10 +19,12 @@
  */
 package org.zaproxy.gradle.crowdin.internal.local;
 
+import com.crowdin.client.sourcefiles.model.ExportOptions;
 import com.crowdin.client.sourcefiles.model.GeneralFileExportOptions;
 import com.crowdin.client.sourcefiles.model.ImportOptions;
 import com.crowdin.client.sourcefiles.model.XmlFileImportOptions;
 import java.io.IOException;
+import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,7 +33,9 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.zaproxy.gradle.crowdin.internal.SimpleLogger;
 import org.zaproxy.gradle.crowdin.internal.VfsNode;
 import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
@@ -40,15 +44,29 @@ import org.zaproxy.gradle.crowdin.internal.configuration.Source;
 
 public class LocalVfs extends VfsNode<LocalFile> {
 
-    @SuppressWarnings("this-escape")
+    private final LocalFileIndex index;
+
     public LocalVfs(Path projectDir, CrowdinProject crowdinProject, SimpleLogger logger)
             throws IOException {
+        this(projectDir, crowdinProject, LocalFileIndex.inMemory(), logger);
+    }
+
+    @SuppressWarnings("this-escape")
+    public LocalVfs(
+            Path projectDir,
+            CrowdinProject crowdinProject,
+            LocalFileIndex index,
+            SimpleLogger logger)
+            throws IOException {
+        this.index = index;
         PathBuilder pathBuilder = new PathBuilder(projectDir.getFileName().toString());
 
         for (Source source : crowdinProject.getSources()) {
             Path dir = getDirectory(projectDir, source.getDir());
 
             for (FileSet fileSet : source.getIncludes()) {
+                FileSetOptions options = new FileSetOptions(pathBuilder, source, fileSet);
+
                 for (Path file : enumerateFiles(dir, fileSet.getPattern())) {
                     if (Files.size(file) == 0) {
                         logger.lifecycle(
@@ -58,23 +76,64 @@ public class LocalVfs extends VfsNode<LocalFile> {
                         continue;
                     }
 
-                    addFile(pathBuilder, source, dir, fileSet, file);
+                    addFile(pathBuilder, options, dir, file);
                 }
             }
         }
     }
 
-    private void addFile(
-            PathBuilder pathBuilder, Source source, Path dir, FileSet fileSet, Path file) {
-        String path =
-                pathBuilder.build(
-                        source.getCrowdinPath(), fileSet.getCrowdinPathFilename(), dir, file);
-        boolean fileAdded =
-                add(
-                                path,
-                                createLocalFile(
-                                        extractName(path), pathBuilder, source, fileSet, dir, file))
-                        != null;
+    /**
+     * Gets the glob patterns of the source files of the given project, grouped by the directory of
+     * the source.
+     *
+     * <p>The patterns are matched against the path of the files relative to the directory, the
+     * same as when enumerating the files of the project.
+     *
+     * @param projectDir the directory of the project.
+     * @param crowdinProject the Crowdin project.
+     * @return the patterns, by source directory.
+     * @see #createMatcher(String)
+     */
+    public static Map<Path, List<String>> getSourcePatterns(
+            Path projectDir, CrowdinProject crowdinProject) {
+        Map<Path, List<String>> patterns = new LinkedHashMap<>();
+        if (crowdinProject.getSources() == null) {
+            return patterns;
+        }
+
+        for (Source source : crowdinProject.getSources()) {
+            Path dir = getDirectory(projectDir, source.getDir());
+            List<String> dirPatterns = patterns.computeIfAbsent(dir, k -> new ArrayList<>());
+            for (FileSet fileSet : source.getIncludes()) {
+                dirPatterns.add(fileSet.getPattern());
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * Creates a matcher for the given glob pattern of a file set, in the default file system.
+     *
+     * @param pattern the glob pattern.
+     * @return the matcher, for paths relative to the directory of the source.
+     */
+    public static PathMatcher createMatcher(String pattern) {
+        return FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+    }
+
+    private void addFile(PathBuilder pathBuilder, FileSetOptions options, Path dir, Path file) {
+        String path = pathBuilder.build(options.crowdinPath, dir, file);
+        String exportPattern = pathBuilder.build(options.exportPattern, dir, file);
+        LocalFile localFile =
+                new LocalFile(
+                        extractName(path),
+                        file,
+                        options.type,
+                        options.importOptions,
+                        options.getExportOptions(exportPattern),
+                        exportPattern,
+                        index);
+        boolean fileAdded = add(path, localFile) != null;
 
         if (!fileAdded) {
             throw new UnsupportedOperationException(
@@ -92,34 +151,6 @@ public class LocalVfs extends VfsNode<LocalFile> {
         return path.substring(path.lastIndexOf('/') + 1);
     }
 
-    private static LocalFile createLocalFile(
-            String name,
-            PathBuilder pathBuilder,
-            Source source,
-            FileSet fileSet,
-            Path baseDir,
-            Path file) {
-        ImportOptions importOptions = null;
-        List<String> elements = fileSet.getTranslatableElements();
-        if (elements != null && !elements.isEmpty()) {
-            XmlFileImportOptions xmlOptions = new XmlFileImportOptions();
-            xmlOptions.setTranslatableElements(elements);
-            importOptions = xmlOptions;
-        }
-
-        String exportPattern =
-                pathBuilder.build(
-                        source.getExportPattern(),
-                        fileSet.getExportPatternFilename(),
-                        baseDir,
-                        file);
-        GeneralFileExportOptions exportOptions = new GeneralFileExportOptions();
-        exportOptions.setExportPattern(exportPattern);
-
-        return new LocalFile(
-                name, file, fileSet.getType(), importOptions, exportOptions, exportPattern);
-    }
-
     private static Path getDirectory(Path baseDir, String path) {
         Path dir = baseDir.resolve(path);
 
@@ -154,6 +185,67 @@ public class LocalVfs extends VfsNode<LocalFile> {
         return enumerator.getIncludedFiles();
     }
 
+    /**
+     * The options shared by all the files of a file set.
+     *
+     * <p>The import options are created once per file set, as are the export options if the export
+     * pattern does not depend on the file, otherwise they are created per file. The options must
+     * not be modified as they are shared by several {@code LocalFile}s.
+     */
+    /**
+     * The options of the files of a file set.
+     *
+     * <p>The import options are shared by all the files. The export options carry the export
+     * pattern as built for each file, so they are shared only if the export pattern has no file
+     * tokens, the usual patterns (e.g. with {@code %file_name%}) need one instance per file.
+     */
+    private static class FileSetOptions {
+
+        private final PathTemplate crowdinPath;
+        private final PathTemplate exportPattern;
+        private final String type;
+        private final ImportOptions importOptions;
+        private ExportOptions sharedExportOptions;
+
+        FileSetOptions(PathBuilder pathBuilder, Source source, FileSet fileSet) {
+            this.crowdinPath =
+                    pathBuilder.compile(source.getCrowdinPath(), fileSet.getCrowdinPathFilename());
+            this.exportPattern =
+                    pathBuilder.compile(
+                            source.getExportPattern(), fileSet.getExportPatternFilename());
+            this.type = fileSet.getType();
+            this.importOptions = createImportOptions(fileSet);
+        }
+
+        private static ImportOptions createImportOptions(FileSet fileSet) {
+            List<String> elements = fileSet.getTranslatableElements();
+            if (elements == null || elements.isEmpty()) {
+                return null;
+            }
+
+            XmlFileImportOptions xmlOptions = new XmlFileImportOptions();
+            xmlOptions.setTranslatableElements(List.copyOf(elements));
+            return xmlOptions;
+        }
+
+        ExportOptions getExportOptions(String exportPattern) {
+            if (this.exportPattern.hasFileTokens()) {
+                return createExportOptions(exportPattern);
+            }
+
+            if (sharedExportOptions == null) {
+                sharedExportOptions = createExportOptions(exportPattern);
+            }
+            return sharedExportOptions;
+        }
+
+        private static ExportOptions createExportOptions(String exportPattern) {
+            GeneralFileExportOptions options = new GeneralFileExportOptions();
+            options.setExportPattern(exportPattern);
+            return options;
+        }
+    }
+
     private static class EnumeratorFileVisitor extends SimpleFileVisitor<Path> {
 
         private final Path baseDir;
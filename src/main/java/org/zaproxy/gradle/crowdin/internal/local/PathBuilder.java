@@ -20,10 +20,7 @@
 package org.zaproxy.gradle.crowdin.internal.local;
 
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
-import org.zaproxy.gradle.crowdin.internal.TokenReplacer;
 import org.zaproxy.gradle.crowdin.internal.configuration.DirFilenamePair;
 
 /**
@@ -31,14 +28,9 @@ import org.zaproxy.gradle.crowdin.internal.configuration.DirFilenamePair;
  *
  * <p>Allows to create the paths for Crowdin and Export Pattern.
  */
-class PathBuilder extends TokenReplacer {
+class PathBuilder {
 
-    private static final String BASE_DIRNAME_TOKEN = "%base_dirname%";
-    private static final String FILE_PATHNAME_TOKEN = "%file_pathname%";
-    private static final String FILE_NAME_TOKEN = "%file_name%";
-    private static final String FILE_EXTENSION_TOKEN = "%file_extension%";
-
-    private final Map<String, String> tokens;
+    private final String baseDirname;
 
     /**
      * Constructs a {@code PathBuilder} with the given base dirname.
@@ -46,72 +38,51 @@ class PathBuilder extends TokenReplacer {
      * @param baseDirname the bas dirname.
      */
     PathBuilder(String baseDirname) {
-        Objects.requireNonNull(baseDirname);
-
-        tokens = new HashMap<>();
-        tokens.put(BASE_DIRNAME_TOKEN, baseDirname);
+        this.baseDirname = Objects.requireNonNull(baseDirname);
     }
 
     /**
-     * Builds the path from the given data.
+     * Compiles the path template for the given data.
      *
      * @param dirFilenamePair the dir/filename pair.
      * @param customFilename the custom filename, overrides the filename of the {@code
      *     dirFilenamePair} if not {@code null}.
-     * @param baseDir the base directory where the files are.
-     * @param file the file.
-     * @return the path.
+     * @return the path template.
      */
-    String build(DirFilenamePair dirFilenamePair, String customFilename, Path baseDir, Path file) {
-        String dir = dirFilenamePair.getDir();
+    PathTemplate compile(DirFilenamePair dirFilenamePair, String customFilename) {
         String filename = dirFilenamePair.getFilename();
         if (customFilename != null) {
             filename = customFilename;
         }
-
-        String fileName = file.getFileName().toString();
-        tokens.put(FILE_PATHNAME_TOKEN, baseDir.relativize(file).toString());
-        tokens.put(FILE_NAME_TOKEN, extractName(fileName));
-        tokens.put(FILE_EXTENSION_TOKEN, extractExtension(fileName));
-        updateTokens(tokens);
-
-        return super.replace(dir + "/" + filename);
+        return PathTemplate.compile(dirFilenamePair.getDir() + "/" + filename);
     }
 
     /**
-     * @throws UnsupportedOperationException use {@link #build(DirFilenamePair, String, Path, Path)}
-     *     instead.
-     */
-    @Override
-    public String replace(String value) {
-        throw new UnsupportedOperationException("Use build method instead.");
-    }
-
-    /**
-     * Extracts the name portion of the given filename.
+     * Builds the path from the given template.
      *
-     * @param filename the filename to extract the name from.
-     * @return the name, or {@code filename} if it has no extension.
+     * @param template the path template.
+     * @param baseDir the base directory where the files are.
+     * @param file the file.
+     * @return the path.
      */
-    private static String extractName(String filename) {
-        int idx = filename.lastIndexOf('.');
-        if (idx != -1) {
-            return filename.substring(0, idx);
-        }
-        return filename;
+    String build(PathTemplate template, Path baseDir, Path file) {
+        return template.render(baseDirname, baseDir, file);
     }
 
     /**
-     * Extracts the extension portion of the given filename.
+     * Builds the path from the given data.
      *
-     * @param filename the filename to extract the extension from.
-     * @return the extension (includes the dot), or empty if none.
+     * <p>Prefer compiling the template once, with {@link #compile(DirFilenamePair, String)}, if
+     * building the paths for several files.
+     *
+     * @param dirFilenamePair the dir/filename pair.
+     * @param customFilename the custom filename, overrides the filename of the {@code
+     *     dirFilenamePair} if not {@code null}.
+     * @param baseDir the base directory where the files are.
+     * @param file the file.
+     * @return the path.
      */
-    private static String extractExtension(String filename) {
-        int idx = filename.lastIndexOf('.');
-        if (idx != -1) {
-            return filename.substring(idx);
-        }
-        return "";
+    String build(DirFilenamePair dirFilenamePair, String customFilename, Path baseDir, Path file) {
+        return build(compile(dirFilenamePair, customFilename), baseDir, file);
     }
 }
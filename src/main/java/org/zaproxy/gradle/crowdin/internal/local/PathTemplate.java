@@ -0,0 +1,173 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal.local;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A path pattern compiled into literal and token segments.
+ *
+ * <p>The tokens are replaced in a single pass when rendering the path of a file, same semantics as
+ * replacing all the tokens at once, that is, the tokens present in the values are not replaced.
+ */
+final class PathTemplate {
+
+    /** The tokens supported in the paths. */
+    enum Token {
+        BASE_DIRNAME("%base_dirname%"),
+        FILE_PATHNAME("%file_pathname%"),
+        FILE_NAME("%file_name%"),
+        FILE_EXTENSION("%file_extension%");
+
+        private final String name;
+
+        Token(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+
+    private static final Token[] TOKENS = Token.values();
+
+    private final String[] literals;
+    private final Token[] tokens;
+    private final int literalsLength;
+
+    private PathTemplate(List<String> literals, List<Token> tokens) {
+        this.literals = literals.toArray(new String[0]);
+        this.tokens = tokens.toArray(new Token[0]);
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+
+    /**
+     * Compiles the given pattern.
+     *
+     * @param pattern the pattern.
+     * @return the template, never {@code null}.
+     * @throws NullPointerException if the pattern is {@code null}.
+     */
+    static PathTemplate compile(String pattern) {
+        Objects.requireNonNull(pattern);
+
+        List<String> literals = new ArrayList<>();
+        List<Token> tokens = new ArrayList<>();
+        int start = 0;
+        int idx = pattern.indexOf('%');
+        while (idx != -1) {
+            Token token = tokenAt(pattern, idx);
+            if (token == null) {
+                idx = pattern.indexOf('%', idx + 1);
+                continue;
+            }
+
+            literals.add(pattern.substring(start, idx));
+            tokens.add(token);
+            start = idx + token.getName().length();
+            idx = pattern.indexOf('%', start);
+        }
+        literals.add(pattern.substring(start));
+
+        return new PathTemplate(literals, tokens);
+    }
+
+    private static Token tokenAt(String pattern, int idx) {
+        for (Token token : TOKENS) {
+            if (pattern.startsWith(token.getName(), idx)) {
+                return token;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether or not the template has tokens that depend on the file, that is, if the paths
+     * rendered might differ between files.
+     *
+     * @return {@code true} if the template has file tokens, {@code false} otherwise.
+     */
+    boolean hasFileTokens() {
+        for (Token token : tokens) {
+            if (token != Token.BASE_DIRNAME) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Renders the path for the given file.
+     *
+     * @param baseDirname the base dirname.
+     * @param baseDir the base directory where the files are.
+     * @param file the file.
+     * @return the path.
+     */
+    String render(String baseDirname, Path baseDir, Path file) {
+        StringBuilder strBuilder = new StringBuilder(literalsLength + 64);
+        String fileName = null;
+        for (int i = 0; i < tokens.length; i++) {
+            strBuilder.append(literals[i]);
+            switch (tokens[i]) {
+                case BASE_DIRNAME:
+                    strBuilder.append(baseDirname);
+                    break;
+                case FILE_PATHNAME:
+                    strBuilder.append(baseDir.relativize(file));
+                    break;
+                case FILE_NAME:
+                    fileName = fileName != null ? fileName : file.getFileName().toString();
+                    strBuilder.append(fileName, 0, extensionIndex(fileName));
+                    break;
+                case FILE_EXTENSION:
+                    fileName = fileName != null ? fileName : file.getFileName().toString();
+                    strBuilder.append(fileName, extensionIndex(fileName), fileName.length());
+                    break;
+                default:
+            }
+        }
+        strBuilder.append(literals[tokens.length]);
+        return strBuilder.toString();
+    }
+
+    /**
+     * Gets the index of the extension (includes the dot) in the given filename.
+     *
+     * @param filename the filename.
+     * @return the index of the extension, or the length of the filename if it has no extension.
+     */
+    private static int extensionIndex(String filename) {
+        int idx = filename.lastIndexOf('.');
+        if (idx != -1) {
+            return idx;
+        }
+        return filename.length();
+    }
+}
@@ -21,18 +21,30 @@ package org.zaproxy.gradle.crowdin.tasks;
 
 import com.crowdin.client.translations.model.CrowdinTranslationCreateProjectBuildForm;
 import com.crowdin.client.translations.model.ProjectBuild;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
+import org.zaproxy.gradle.crowdin.CrowdinPluginException;
+import org.zaproxy.gradle.crowdin.internal.BuildIds;
 import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinConfiguration;
 import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
 
 public abstract class BuildProjectTranslation extends CrowdinTask {
 
+    static final String BUILD_IDS = "crowdin/build-ids.properties";
+
     @SuppressWarnings("this-escape")
     public BuildProjectTranslation() {
         setDescription("Builds the project translation package.");
@@ -41,8 +53,13 @@ public abstract class BuildProjectTranslation extends CrowdinTask {
         getSkipUntranslatedStrings().convention(false);
         getSkipUntranslatedFiles().convention(false);
         getExportApprovedOnly().convention(false);
+        getLanguagesPerBuild().convention(0);
 
         getWaitForBuilds().convention(false);
+        getReuseBuilds().convention(true);
+        getBuildIdsFile().convention(getProjectLayout().getBuildDirectory().file(BUILD_IDS));
+
+        doNotTrackState("Depends on the state of the Crowdin projects.");
     }
 
     @Input
@@ -57,22 +74,67 @@ public abstract class BuildProjectTranslation extends CrowdinTask {
     @Input
     public abstract Property<Boolean> getExportApprovedOnly();
 
+    /**
+     * Gets the maximum number of target languages per build.
+     *
+     * <p>If positive, the target languages of each project are split into groups of at most this
+     * size, each built separately and in parallel by Crowdin, resulting in one translation package
+     * per group. If the target languages are not set, the ones of the project are used.
+     *
+     * @return the property that controls the number of languages per build, {@code 0} (the
+     *     default) to build all the languages at once.
+     */
+    @Input
+    public abstract Property<Integer> getLanguagesPerBuild();
+
     @Input
     public abstract Property<Boolean> getWaitForBuilds();
 
+    /**
+     * Gets whether or not the latest finished build of a project is reused, instead of starting a
+     * new one, if built with the same options and no activity happened in the project since.
+     *
+     * @return the property that controls the reuse of the builds.
+     */
+    @Input
+    public abstract Property<Boolean> getReuseBuilds();
+
+    /**
+     * Gets the file where the IDs of the builds, started or reused, are written.
+     *
+     * <p>Each line maps the ID of the project to the IDs of the builds, one per group of languages,
+     * {@code projectId=buildId[,buildId...]}.
+     *
+     * @return the file of the build IDs.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getBuildIdsFile();
+
     @TaskAction
     void build() {
-        List<ProjectBuild> builds = startBuilds();
+        try (TranslationBuilds translationBuilds = new TranslationBuilds(this)) {
+            Map<Long, List<ProjectBuild>> builds = startBuilds(translationBuilds);
+            writeBuildIds(builds);
+
+            List<ProjectBuild> startedBuilds =
+                    builds.values().stream()
+                            .flatMap(List::stream)
+                            .filter(TranslationBuilds::isInProgressOrCreated)
+                            .collect(Collectors.toList());
+            if (startedBuilds.isEmpty()) {
+                return;
+            }
 
-        boolean wait = getWaitForBuilds().get();
-        if (wait) {
-            waitForBuilds(builds);
-        } else {
-            getLogger().lifecycle("Not waiting for the builds to finish.");
+            boolean wait = getWaitForBuilds().get();
+            if (wait) {
+                waitForBuilds(translationBuilds, startedBuilds);
+            } else {
+                getLogger().lifecycle("Not waiting for the builds to finish.");
+            }
         }
     }
 
-    private List<ProjectBuild> startBuilds() {
+    private Map<Long, List<ProjectBuild>> startBuilds(TranslationBuilds translationBuilds) {
         CrowdinTranslationCreateProjectBuildForm buildForm =
                 new CrowdinTranslationCreateProjectBuildForm();
         buildForm.setTargetLanguageIds(getTargetLanguageIds().get());
@@ -80,76 +142,93 @@ public abstract class BuildProjectTranslation extends CrowdinTask {
         buildForm.setSkipUntranslatedFiles(getSkipUntranslatedFiles().get());
         buildForm.setExportApprovedOnly(getExportApprovedOnly().get());
 
+        int languagesPerBuild = getLanguagesPerBuild().get();
+        boolean reuse = getReuseBuilds().get();
         CrowdinConfiguration configuration = getCrowdinConfiguration();
-        List<ProjectBuild> builds = new ArrayList<>(configuration.getProjects().size());
+        Map<Long, List<ProjectBuild>> builds = new LinkedHashMap<>();
         for (CrowdinProject project : configuration.getProjects()) {
-            builds.add(startBuild(project, buildForm));
+            builds.put(
+                    project.getId(),
+                    translationBuilds.start(project, buildForm, languagesPerBuild, reuse));
         }
         return builds;
     }
 
-    private ProjectBuild startBuild(
-            CrowdinProject project, CrowdinTranslationCreateProjectBuildForm buildForm) {
-        ProjectBuild build =
-                apiRequest(
-                        api ->
-                                api.getTranslationsApi()
-                                        .buildProjectTranslation(project.getId(), buildForm)
-                                        .getData());
-        getLogger()
-                .lifecycle(
-                        "Build started for project {}, build ID: {}",
-                        project.getId(),
-                        build.getId());
-        return build;
+    private void writeBuildIds(Map<Long, List<ProjectBuild>> builds) {
+        Map<Long, List<Long>> ids = new LinkedHashMap<>();
+        builds.forEach(
+                (projectId, projectBuilds) ->
+                        ids.put(
+                                projectId,
+                                projectBuilds.stream()
+                                        .map(ProjectBuild::getId)
+                                        .collect(Collectors.toList())));
+        BuildIds.write(getBuildIdsFile().getAsFile().get().toPath(), ids);
     }
 
-    private void waitForBuilds(List<ProjectBuild> builds) {
+    private void waitForBuilds(TranslationBuilds translationBuilds, List<ProjectBuild> builds) {
         getLogger().lifecycle("Waiting for {} build(s) to finish.", builds.size());
 
+        long start = System.nanoTime();
+        List<CompletableFuture<ProjectBuild>> results = new ArrayList<>(builds.size());
         for (ProjectBuild build : builds) {
-            if (waitForProjectBuildToFinish(build)) {
-                getLogger().warn("Interrupted while waiting for builds to finish.");
-                break;
+            results.add(
+                    translationBuilds
+                            .whenDone(build)
+                            .whenComplete(
+                                    (doneBuild, e) -> {
+                                        if (doneBuild != null) {
+                                            report(doneBuild, start);
+                                        }
+                                    }));
+        }
+
+        RuntimeException failure = null;
+        try {
+            for (CompletableFuture<ProjectBuild> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    RuntimeException cause =
+                            e.getCause() instanceof RuntimeException
+                                    ? (RuntimeException) e.getCause()
+                                    : new CrowdinPluginException(e.getCause());
+                    if (failure == null) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            getLogger().warn("Interrupted while waiting for builds to finish.");
+            return;
+        }
+        if (failure != null) {
+            throw failure;
         }
 
         getLogger().lifecycle("All builds done.");
     }
 
-    private boolean waitForProjectBuildToFinish(ProjectBuild build) {
-        getLogger().lifecycle("Waiting for build of project {}", build.getProjectId());
-
-        ProjectBuild currentBuild = build;
-        while (isInProgressOrCreated(currentBuild)) {
-            try {
-                Thread.sleep(30_000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return true;
-            }
-            currentBuild =
-                    apiRequest(
-                            api ->
-                                    api.getTranslationsApi()
-                                            .checkBuildStatus(build.getProjectId(), build.getId())
-                                            .getData());
-        }
-
-        if ("finished".equals(currentBuild.getStatus())) {
-            getLogger().lifecycle("Build done for project {}", build.getProjectId());
+    private void report(ProjectBuild build, long start) {
+        long seconds = Duration.ofNanos(System.nanoTime() - start).getSeconds();
+        if (TranslationBuilds.isFinished(build)) {
+            getLogger()
+                    .lifecycle(
+                            "Build {} done for project {}, waited {} s.",
+                            build.getId(),
+                            build.getProjectId(),
+                            seconds);
         } else {
             getLogger()
                     .lifecycle(
-                            "Build not finished for project {}, status: {}",
+                            "Build {} not finished for project {}, status: {}, waited {} s.",
                             build.getId(),
-                            currentBuild.getStatus());
+                            build.getProjectId(),
+                            build.getStatus(),
+                            seconds);
         }
-        return false;
-    }
-
-    private static boolean isInProgressOrCreated(ProjectBuild build) {
-        String status = build.getStatus();
-        return "inProgress".equals(status) || "created".equals(status);
     }
 }
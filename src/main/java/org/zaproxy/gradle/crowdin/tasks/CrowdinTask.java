@@ -28,9 +28,15 @@ import com.crowdin.client.core.model.ResponseObject;
 import com.crowdin.client.sourcefiles.model.Directory;
 import com.crowdin.client.sourcefiles.model.FileInfo;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import javax.inject.Inject;
 import org.gradle.api.DefaultTask;
@@ -44,10 +50,14 @@ import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.zaproxy.gradle.crowdin.CrowdinPluginException;
+import org.zaproxy.gradle.crowdin.internal.ApiExecutors;
+import org.zaproxy.gradle.crowdin.internal.CrowdinException;
+import org.zaproxy.gradle.crowdin.internal.RequestController;
 import org.zaproxy.gradle.crowdin.internal.SimpleLogger;
 import org.zaproxy.gradle.crowdin.internal.configuration.ConfigurationException;
 import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinConfiguration;
 import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
+import org.zaproxy.gradle.crowdin.internal.local.LocalFileIndex;
 import org.zaproxy.gradle.crowdin.internal.local.LocalVfs;
 import org.zaproxy.gradle.crowdin.internal.remote.RemoteVfs;
 
@@ -55,15 +65,29 @@ public abstract class CrowdinTask extends DefaultTask {
 
     protected static final int PAGE_SIZE = 250;
 
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+
+    private static final int MAX_REQUEST_ATTEMPTS = 5;
+
+    private static final Duration RETRY_BASE_DELAY = Duration.ofMillis(500);
+
+    private static final Duration RETRY_MAX_DELAY = Duration.ofSeconds(30);
+
+    private static final String LOCAL_FILE_INDEX = "crowdin/local-file-index.bin";
+
     private CrowdinConfiguration crowdinConfiguration;
     private Client crowdinClient;
     private SimpleLogger simpleLogger;
+    private LocalFileIndex localFileIndex;
+    private RequestController requestController;
 
     @SuppressWarnings("this-escape")
     protected CrowdinTask() {
         setGroup("Crowdin");
 
         getConfigurationTokens().convention(Collections.emptyMap());
+        getMaxConcurrentRequests().convention(DEFAULT_MAX_CONCURRENT_REQUESTS);
+        getVirtualThreads().convention(true);
     }
 
     @Inject
@@ -81,23 +105,64 @@ public abstract class CrowdinTask extends DefaultTask {
     @Input
     public abstract MapProperty<String, String> getConfigurationTokens();
 
+    /**
+     * Gets the maximum number of requests done concurrently to Crowdin, for the requests that are
+     * independent of each other.
+     *
+     * <p>The limit applies to all the requests of the task, even if for different projects. The
+     * requests in flight are reduced while Crowdin throttles or is slow to respond to them.
+     *
+     * @return the property with the maximum number of concurrent requests.
+     */
+    @Internal
+    public abstract Property<Integer> getMaxConcurrentRequests();
+
+    /**
+     * Gets whether or not the requests to Crowdin are done in virtual threads, when supported by
+     * the JVM running the build.
+     *
+     * @return the property that controls the use of virtual threads.
+     */
+    @Internal
+    public abstract Property<Boolean> getVirtualThreads();
+
+    /**
+     * Creates an executor for the requests to Crowdin, which should be shut down once no longer
+     * needed.
+     *
+     * @param maxThreads the maximum number of requests running at the same time, even if using
+     *     virtual threads.
+     * @return the executor, never {@code null}.
+     */
+    protected ExecutorService createRequestExecutor(int maxThreads) {
+        return ApiExecutors.create(maxThreads, getVirtualThreads().get());
+    }
+
     @Internal
     protected CrowdinConfiguration getCrowdinConfiguration() {
         if (crowdinConfiguration == null) {
-            try {
-                crowdinConfiguration =
-                        CrowdinConfiguration.from(
-                                getConfigurationFile().getAsFile().get().toPath(),
-                                getConfigurationTokens().get());
-            } catch (ConfigurationException e) {
-                throw new CrowdinPluginException(e);
-            }
+            crowdinConfiguration = readCrowdinConfiguration();
         }
         return crowdinConfiguration;
     }
 
+    /**
+     * Reads the configuration, without caching it in the task.
+     *
+     * @return the configuration, never {@code null}.
+     */
+    protected CrowdinConfiguration readCrowdinConfiguration() {
+        try {
+            return CrowdinConfiguration.from(
+                    getConfigurationFile().getAsFile().get().toPath(),
+                    getConfigurationTokens().get());
+        } catch (ConfigurationException e) {
+            throw new CrowdinPluginException(e);
+        }
+    }
+
     @Internal
-    protected Client getCrowdinClient() {
+    protected synchronized Client getCrowdinClient() {
         if (crowdinClient == null) {
             crowdinClient = new Client(new Credentials(getAuthToken().getOrNull(), null));
         }
@@ -105,20 +170,211 @@ public abstract class CrowdinTask extends DefaultTask {
     }
 
     @Internal
-    protected SimpleLogger getSimpleLogger() {
+    protected synchronized SimpleLogger getSimpleLogger() {
         if (simpleLogger == null) {
             simpleLogger = new LoggerWrapper(getLogger());
         }
         return simpleLogger;
     }
 
+    /**
+     * Gets a logger whose messages are attributed to the given project, for the messages that
+     * might be interleaved with the ones of other projects.
+     *
+     * @param crowdinProject the project.
+     * @return the logger, never {@code null}.
+     */
+    protected SimpleLogger getSimpleLogger(CrowdinProject crowdinProject) {
+        return new LoggerWrapper(getLogger(), "Project " + crowdinProject.getId() + ": ");
+    }
+
+    @Internal
+    protected synchronized LocalFileIndex getLocalFileIndex() {
+        if (localFileIndex == null) {
+            Path file =
+                    getProjectLayout()
+                            .getBuildDirectory()
+                            .file(LOCAL_FILE_INDEX)
+                            .get()
+                            .getAsFile()
+                            .toPath();
+            try {
+                localFileIndex = LocalFileIndex.load(file);
+            } catch (IOException e) {
+                throw new CrowdinPluginException(
+                        "An error occurred while reading the local file index, cause: "
+                                + e.getMessage(),
+                        e);
+            }
+        }
+        return localFileIndex;
+    }
+
+    protected void saveLocalFileIndex() {
+        if (localFileIndex == null) {
+            return;
+        }
+        try {
+            localFileIndex.save();
+        } catch (IOException e) {
+            getLogger().warn("Failed to save the local file index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Does a request that is not idempotent, retried only if throttled by Crowdin.
+     *
+     * @param <R> the type of the result.
+     * @param access the access to the API.
+     * @return the result of the request.
+     * @see #apiRequest(Function, boolean)
+     */
     protected <R> R apiRequest(Function<Client, R> access) {
+        return apiRequest(access, false);
+    }
+
+    /**
+     * Does a request through the {@link #getRequestController() request controller}, which
+     * bounds the requests in flight and retries the ones throttled or, if idempotent, failed
+     * transiently.
+     *
+     * @param <R> the type of the result.
+     * @param access the access to the API, called again for each retry.
+     * @param idempotent {@code true} if the request can be done more than once, {@code false}
+     *     otherwise.
+     * @return the result of the request.
+     */
+    protected <R> R apiRequest(Function<Client, R> access, boolean idempotent) {
+        return apiRequest(RequestController.DEFAULT_CLASS, access, idempotent);
+    }
+
+    /**
+     * Does a request of the given class through the {@link #getRequestController() request
+     * controller}.
+     *
+     * @param <R> the type of the result.
+     * @param requestClass the class of the request, or {@code null} if its latency depends on the
+     *     size of the content.
+     * @param access the access to the API, called again for each retry.
+     * @param idempotent {@code true} if the request can be done more than once, {@code false}
+     *     otherwise.
+     * @return the result of the request.
+     * @see RequestController#execute(String, java.util.function.Supplier, boolean)
+     */
+    protected <R> R apiRequest(
+            String requestClass, Function<Client, R> access, boolean idempotent) {
         try {
-            return access.apply(getCrowdinClient());
+            return getRequestController()
+                    .execute(requestClass, () -> access.apply(getCrowdinClient()), idempotent);
         } catch (HttpException e) {
             throw exceptionFor(e);
         } catch (HttpBadRequestException e) {
             throw exceptionFor(e);
+        } catch (CrowdinException e) {
+            throw new CrowdinPluginException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the controller of the requests to Crowdin, shared by all the requests of the task.
+     *
+     * @return the request controller, never {@code null}.
+     */
+    @Internal
+    protected synchronized RequestController getRequestController() {
+        if (requestController == null) {
+            requestController =
+                    new RequestController(
+                            Math.max(1, getMaxConcurrentRequests().get()),
+                            MAX_REQUEST_ATTEMPTS,
+                            RETRY_BASE_DELAY,
+                            RETRY_MAX_DELAY,
+                            CrowdinTask::classify);
+        }
+        return requestController;
+    }
+
+    private static RequestController.Failure classify(RuntimeException e) {
+        if (e instanceof HttpException) {
+            HttpException.ErrorHolder error = ((HttpException) e).getError();
+            String code = error != null ? error.getCode() : null;
+            if ("429".equals(code)) {
+                return RequestController.Failure.throttled(null);
+            }
+            if (code != null && code.length() == 3 && code.charAt(0) == '5') {
+                return RequestController.Failure.transientFailure();
+            }
+        }
+        if (e instanceof UncheckedIOException || e.getCause() instanceof IOException) {
+            return RequestController.Failure.transientFailure();
+        }
+        return RequestController.Failure.permanent();
+    }
+
+    /**
+     * Runs the given actions concurrently, at most {@link #getMaxConcurrentRequests()} at the same
+     * time, whether or not in virtual threads.
+     *
+     * <p>Waits for all the actions to finish, the first failure is thrown with the others
+     * suppressed.
+     *
+     * @param actions the actions to run.
+     */
+    protected void runConcurrently(List<? extends Runnable> actions) {
+        int threads = Math.min(actions.size(), getMaxConcurrentRequests().get());
+        if (threads <= 1) {
+            actions.forEach(Runnable::run);
+            return;
+        }
+
+        ExecutorService executor = createRequestExecutor(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(actions.size());
+            actions.forEach(action -> futures.add(executor.submit(action)));
+            waitForAll(futures);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for all the given futures to complete.
+     *
+     * <p>The first failure is thrown with the others suppressed.
+     *
+     * @param futures the futures to wait for.
+     */
+    protected static void waitForAll(List<? extends Future<?>> futures) {
+        RuntimeException failure = null;
+        for (Future<?> future : futures) {
+            RuntimeException exception = waitFor(future);
+            if (failure == null) {
+                failure = exception;
+            } else if (exception != null) {
+                failure.addSuppressed(exception);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static RuntimeException waitFor(Future<?> future) {
+        try {
+            future.get();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CrowdinPluginException("Interrupted while waiting for the requests.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                return (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            return new CrowdinPluginException(cause);
         }
     }
 
@@ -127,7 +383,8 @@ public abstract class CrowdinTask extends DefaultTask {
             return new LocalVfs(
                     getProjectLayout().getProjectDirectory().getAsFile().toPath(),
                     crowdinProject,
-                    getSimpleLogger());
+                    getLocalFileIndex(),
+                    getSimpleLogger(crowdinProject));
         } catch (IOException e) {
             throw new CrowdinPluginException(
                     "An error occurred while enumerating the local files, cause: " + e.getMessage(),
@@ -138,23 +395,20 @@ public abstract class CrowdinTask extends DefaultTask {
     protected RemoteVfs createCrowdinVfs(CrowdinProject crowdinProject) {
         List<Directory> directories = new ArrayList<>();
         List<FileInfo> files = new ArrayList<>();
-        try {
-            fetchDirectories(crowdinProject.getId(), directories, PAGE_SIZE, 0);
-            fetchFiles(crowdinProject.getId(), files, PAGE_SIZE, 0);
-        } catch (HttpException e) {
-            throw exceptionFor(e);
-        } catch (HttpBadRequestException e) {
-            throw exceptionFor(e);
-        }
+        fetchDirectories(crowdinProject.getId(), directories, PAGE_SIZE, 0);
+        fetchFiles(crowdinProject.getId(), files, PAGE_SIZE, 0);
         return new RemoteVfs(directories, files);
     }
 
     private void fetchDirectories(long projectId, List<Directory> sink, int pageSize, int offset) {
         List<ResponseObject<Directory>> data =
-                getCrowdinClient()
-                        .getSourceFilesApi()
-                        .listDirectories(projectId, null, null, null, null, pageSize, offset)
-                        .getData();
+                apiRequest(
+                        api ->
+                                api.getSourceFilesApi()
+                                        .listDirectories(
+                                                projectId, null, null, null, null, pageSize, offset)
+                                        .getData(),
+                        true);
         data.stream().map(ResponseObject::getData).forEach(sink::add);
         if (data.size() == pageSize) {
             fetchDirectories(projectId, sink, pageSize, offset + pageSize);
@@ -163,9 +417,18 @@ public abstract class CrowdinTask extends DefaultTask {
 
     private void fetchFiles(long projectId, List<FileInfo> sink, int pageSize, int offset) {
         ResponseList<? extends FileInfo> list =
-                getCrowdinClient()
-                        .getSourceFilesApi()
-                        .listFiles(projectId, null, null, null, null, pageSize, offset);
+                apiRequest(
+                        api ->
+                                api.getSourceFilesApi()
+                                        .listFiles(
+                                                projectId,
+                                                null,
+                                                null,
+                                                null,
+                                                null,
+                                                pageSize,
+                                                offset),
+                        true);
         list.getData().stream().map(ResponseObject::getData).forEach(sink::add);
         if (list.getData().size() == pageSize) {
             fetchFiles(projectId, sink, pageSize, offset + pageSize);
@@ -19,22 +19,19 @@
  */
 package org.zaproxy.gradle.crowdin.tasks;
 
-import com.crowdin.client.core.model.DownloadLink;
-import com.crowdin.client.core.model.ResponseObject;
 import com.crowdin.client.translations.model.ProjectBuild;
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.MalformedURLException;
-import java.net.URI;
-import java.net.URL;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.TaskAction;
-import org.zaproxy.gradle.crowdin.CrowdinPluginException;
+import org.zaproxy.gradle.crowdin.internal.BuildIds;
+import org.zaproxy.gradle.crowdin.internal.TranslationsCopier;
 import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinConfiguration;
 import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
 
@@ -42,7 +39,13 @@ public abstract class DownloadProjectTranslation extends CrowdinTask {
 
     @SuppressWarnings("this-escape")
     public DownloadProjectTranslation() {
-        setDescription("Downloads the latest project translation package.");
+        setDescription("Downloads the project translation packages.");
+
+        getBuildIdsFile()
+                .convention(
+                        getProjectLayout()
+                                .getBuildDirectory()
+                                .file(BuildProjectTranslation.BUILD_IDS));
 
         // Translation package might change any time.
         getOutputs().upToDateWhen(t -> false);
@@ -51,66 +54,90 @@ public abstract class DownloadProjectTranslation extends CrowdinTask {
     @OutputDirectory
     public abstract DirectoryProperty getOutputDirectory();
 
+    /**
+     * Gets the file with the IDs of the builds to download, as written by the build task.
+     *
+     * <p>The builds of the projects in the file are downloaded, waiting for them to finish if
+     * needed, one package per group of languages. The latest finished build is downloaded for the
+     * projects not in the file, or if that build is newer than all the builds of the project in
+     * the file, for example, if the file was left over from an earlier run.
+     *
+     * @return the file with the IDs of the builds.
+     */
+    @Internal
+    public abstract RegularFileProperty getBuildIdsFile();
+
     @TaskAction
     void download() {
         CrowdinConfiguration configuration = getCrowdinConfiguration();
         Path outputDirectory = getOutputDirectory().getAsFile().get().toPath();
+        Path buildIdsFile = getBuildIdsFile().getAsFile().get().toPath();
+        Map<Long, List<Long>> buildIds = BuildIds.read(buildIdsFile);
 
-        for (CrowdinProject project : configuration.getProjects()) {
-            Optional<ProjectBuild> finishedBuild = getFinishedBuild(project);
-            if (!finishedBuild.isPresent()) {
-                getLogger().lifecycle("No builds finished for project {}.", project.getId());
-                continue;
-            }
+        try (TranslationBuilds translationBuilds = new TranslationBuilds(this)) {
+            List<Runnable> downloads = new ArrayList<>();
+            for (CrowdinProject project : configuration.getProjects()) {
+                List<Long> ids = buildIds.get(project.getId());
+                if (ids == null) {
+                    downloads.add(
+                            () ->
+                                    downloadFinishedBuild(
+                                            translationBuilds,
+                                            project,
+                                            translationBuilds.getLatestFinished(project),
+                                            outputDirectory));
+                    continue;
+                }
 
-            download(finishedBuild.get(), outputDirectory);
-        }
-    }
+                Optional<ProjectBuild> finishedBuild = translationBuilds.getLatestFinished(project);
+                if (BuildIds.isStale(ids, finishedBuild.map(ProjectBuild::getId).orElse(null))) {
+                    getLogger()
+                            .lifecycle(
+                                    "Ignoring the build IDs of project {} in {}, build {} is newer"
+                                            + " than all of them.",
+                                    project.getId(),
+                                    buildIdsFile,
+                                    finishedBuild.get().getId());
+                    downloads.add(
+                            () ->
+                                    downloadFinishedBuild(
+                                            translationBuilds,
+                                            project,
+                                            finishedBuild,
+                                            outputDirectory));
+                    continue;
+                }
 
-    private Optional<ProjectBuild> getFinishedBuild(CrowdinProject project) {
-        return apiRequest(
-                api ->
-                        api
-                                .getTranslationsApi()
-                                .listProjectBuilds(project.getId(), null, null, null)
-                                .getData()
-                                .stream()
-                                .map(ResponseObject::getData)
-                                .filter(e -> "finished".equals(e.getStatus()))
-                                .findFirst());
+                translationBuilds.deleteStalePackages(project.getId(), outputDirectory, ids.size());
+                for (int i = 0; i < ids.size(); i++) {
+                    long buildId = ids.get(i);
+                    String name =
+                            TranslationsCopier.getPackageName(project.getId(), i + 1, ids.size());
+                    downloads.add(
+                            () -> {
+                                ProjectBuild build =
+                                        translationBuilds.waitFor(project.getId(), buildId);
+                                translationBuilds.download(build, outputDirectory.resolve(name));
+                            });
+                }
+            }
+            runConcurrently(downloads);
+        }
     }
 
-    private void download(ProjectBuild build, Path directory) {
-        DownloadLink downloadLink =
-                apiRequest(
-                        api ->
-                                api.getTranslationsApi()
-                                        .downloadProjectTranslations(
-                                                build.getProjectId(), build.getId())
-                                        .getData());
-        URL url;
-        try {
-            url = URI.create(downloadLink.getUrl()).toURL();
-        } catch (MalformedURLException e) {
-            throw new CrowdinPluginException(
-                    "Failed to create the download URL for project "
-                            + build.getProjectId()
-                            + ", cause: "
-                            + e.getMessage(),
-                    e);
+    private void downloadFinishedBuild(
+            TranslationBuilds translationBuilds,
+            CrowdinProject project,
+            Optional<ProjectBuild> finishedBuild,
+            Path directory) {
+        if (!finishedBuild.isPresent()) {
+            getLogger().lifecycle("No builds finished for project {}.", project.getId());
+            return;
         }
 
-        long projectId = build.getProjectId();
-        Path file = directory.resolve(projectId + ".zip");
-        try (InputStream in = url.openStream()) {
-            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            throw new CrowdinPluginException(
-                    "Failed to download the package for project "
-                            + projectId
-                            + ", cause: "
-                            + e.getMessage(),
-                    e);
-        }
+        translationBuilds.deleteStalePackages(project.getId(), directory, 1);
+        translationBuilds.download(
+                finishedBuild.get(),
+                directory.resolve(TranslationsCopier.getPackageName(project.getId(), 1, 1)));
     }
 }
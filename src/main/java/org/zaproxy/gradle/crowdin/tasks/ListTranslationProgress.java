@@ -19,8 +19,6 @@
  */
 package org.zaproxy.gradle.crowdin.tasks;
 
-import com.crowdin.client.core.http.exceptions.HttpBadRequestException;
-import com.crowdin.client.core.http.exceptions.HttpException;
 import com.crowdin.client.core.model.ResponseList;
 import com.crowdin.client.core.model.ResponseObject;
 import com.crowdin.client.translationstatus.model.LanguageProgress;
@@ -84,22 +82,18 @@ public abstract class ListTranslationProgress extends CrowdinTask {
 
     private List<LanguageProgress> getProgress(CrowdinProject project) {
         List<LanguageProgress> languages = new ArrayList<>();
-        try {
-            fetchLanguages(project.getId(), languages, PAGE_SIZE, 0);
-        } catch (HttpException e) {
-            throw exceptionFor(e);
-        } catch (HttpBadRequestException e) {
-            throw exceptionFor(e);
-        }
+        fetchLanguages(project.getId(), languages, PAGE_SIZE, 0);
         return languages;
     }
 
     private void fetchLanguages(
             long projectId, List<LanguageProgress> sink, int pageSize, int offset) {
         ResponseList<LanguageProgress> list =
-                getCrowdinClient()
-                        .getTranslationStatusApi()
-                        .getProjectProgress(projectId, pageSize, offset, null);
+                apiRequest(
+                        api ->
+                                api.getTranslationStatusApi()
+                                        .getProjectProgress(projectId, pageSize, offset, null),
+                        true);
         list.getData().stream().map(ResponseObject::getData).forEach(sink::add);
         if (list.getData().size() == pageSize) {
             fetchLanguages(projectId, sink, pageSize, offset + pageSize);
@@ -26,23 +26,29 @@ import org.zaproxy.gradle.crowdin.internal.SimpleLogger;
 class LoggerWrapper implements SimpleLogger {
 
     private final Logger logger;
+    private final String prefix;
 
     LoggerWrapper(Logger logger) {
+        this(logger, "");
+    }
+
+    LoggerWrapper(Logger logger, String prefix) {
         this.logger = Objects.requireNonNull(logger);
+        this.prefix = Objects.requireNonNull(prefix);
     }
 
     @Override
     public void lifecycle(String message, Object... objects) {
-        logger.lifecycle(message, objects);
+        logger.lifecycle(prefix + message, objects);
     }
 
     @Override
     public void warn(String message, Object... objects) {
-        logger.warn(message, objects);
+        logger.warn(prefix + message, objects);
     }
 
     @Override
     public void error(String message, Object... objects) {
-        logger.error(message, objects);
+        logger.error(prefix + message, objects);
     }
 }
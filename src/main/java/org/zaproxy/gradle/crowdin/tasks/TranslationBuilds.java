@@ -0,0 +1,485 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.tasks;
+
+import com.crowdin.client.core.model.DownloadLink;
+import com.crowdin.client.core.model.ResponseObject;
+import com.crowdin.client.projectsgroups.model.Project;
+import com.crowdin.client.translations.model.CrowdinTranslationCreateProjectBuildForm;
+import com.crowdin.client.translations.model.ProjectBuild;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.gradle.api.logging.Logger;
+import org.zaproxy.gradle.crowdin.CrowdinPluginException;
+import org.zaproxy.gradle.crowdin.internal.LanguageShards;
+import org.zaproxy.gradle.crowdin.internal.PackageDownloader;
+import org.zaproxy.gradle.crowdin.internal.PackageMetadata;
+import org.zaproxy.gradle.crowdin.internal.PollSchedule;
+import org.zaproxy.gradle.crowdin.internal.ProjectBuilds;
+import org.zaproxy.gradle.crowdin.internal.TranslationsCopier;
+import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
+
+/**
+ * Starts, waits for, and downloads the translation builds of the projects, for a task.
+ *
+ * <p>The builds are polled in a scheduler owned by the instance, which should be closed once no
+ * longer needed.
+ */
+class TranslationBuilds implements AutoCloseable {
+
+    static final Duration POLL_INITIAL_DELAY = Duration.ofSeconds(2);
+
+    static final Duration POLL_MAX_DELAY = Duration.ofSeconds(30);
+
+    static final double POLL_GROWTH = 1.5;
+
+    private static final Duration DOWNLOAD_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final int DOWNLOAD_ATTEMPTS = 3;
+
+    private static final Duration DOWNLOAD_RETRY_DELAY = Duration.ofSeconds(1);
+
+    private static final String FINISHED = "finished";
+
+    private final CrowdinTask task;
+    private final Logger logger;
+    private final PackageDownloader downloader;
+    private final int maxPollThreads;
+    private ScheduledExecutorService scheduler;
+
+    TranslationBuilds(CrowdinTask task) {
+        this.task = task;
+        this.logger = task.getLogger();
+        this.maxPollThreads = Math.max(1, task.getMaxConcurrentRequests().get());
+        this.downloader =
+                new PackageDownloader(
+                        task.getSimpleLogger(),
+                        DOWNLOAD_TIMEOUT,
+                        DOWNLOAD_ATTEMPTS,
+                        DOWNLOAD_RETRY_DELAY);
+    }
+
+    /**
+     * Starts the builds of the given project, one per group of languages, reusing the current
+     * builds if allowed.
+     *
+     * @param project the project to build.
+     * @param options the options of the build, including the target languages.
+     * @param languagesPerBuild the maximum number of languages per build, {@code 0} for all.
+     * @param reuse {@code true} if the current builds should be reused, {@code false} otherwise.
+     * @return the builds started or reused, one per group of languages.
+     */
+    List<ProjectBuild> start(
+            CrowdinProject project,
+            CrowdinTranslationCreateProjectBuildForm options,
+            int languagesPerBuild,
+            boolean reuse) {
+        Project details = null;
+        List<String> languages = options.getTargetLanguageIds();
+        if (languagesPerBuild > 0 && languages.isEmpty()) {
+            details = getProjectDetails(project);
+            if (details.getTargetLanguageIds() != null) {
+                languages = details.getTargetLanguageIds();
+            }
+        }
+
+        Date lastActivity = null;
+        List<ProjectBuild> previousBuilds = Collections.emptyList();
+        if (reuse) {
+            if (details == null) {
+                details = getProjectDetails(project);
+            }
+            lastActivity = details.getLastActivity();
+            previousBuilds = listBuilds(project);
+        }
+
+        List<List<String>> shards = LanguageShards.split(languages, languagesPerBuild);
+        List<ProjectBuild> builds = new ArrayList<>(shards.size());
+        for (List<String> shard : shards) {
+            CrowdinTranslationCreateProjectBuildForm buildForm = createBuildForm(options, shard);
+            Optional<ProjectBuild> currentBuild =
+                    ProjectBuilds.findCurrent(previousBuilds, buildForm, lastActivity);
+            if (currentBuild.isPresent()) {
+                logger.lifecycle(
+                        "Reusing build for project {}, build ID: {}, no changes since.",
+                        project.getId(),
+                        currentBuild.get().getId());
+                builds.add(currentBuild.get());
+            } else {
+                builds.add(startBuild(project, buildForm, shards.size() > 1));
+            }
+        }
+        return builds;
+    }
+
+    private static CrowdinTranslationCreateProjectBuildForm createBuildForm(
+            CrowdinTranslationCreateProjectBuildForm options, List<String> languages) {
+        CrowdinTranslationCreateProjectBuildForm buildForm =
+                new CrowdinTranslationCreateProjectBuildForm();
+        buildForm.setBranchId(options.getBranchId());
+        buildForm.setTargetLanguageIds(languages);
+        buildForm.setSkipUntranslatedStrings(options.getSkipUntranslatedStrings());
+        buildForm.setSkipUntranslatedFiles(options.getSkipUntranslatedFiles());
+        buildForm.setExportApprovedOnly(options.getExportApprovedOnly());
+        return buildForm;
+    }
+
+    private Project getProjectDetails(CrowdinProject project) {
+        return task.apiRequest(
+                api -> api.getProjectsGroupsApi().getProject(project.getId()).getData(), true);
+    }
+
+    private List<ProjectBuild> listBuilds(CrowdinProject project) {
+        List<ProjectBuild> builds = new ArrayList<>();
+        fetchBuilds(project.getId(), builds, CrowdinTask.PAGE_SIZE, 0);
+        return builds;
+    }
+
+    private void fetchBuilds(long projectId, List<ProjectBuild> sink, int pageSize, int offset) {
+        List<ResponseObject<ProjectBuild>> page = fetchBuildsPage(projectId, pageSize, offset);
+        page.stream().map(ResponseObject::getData).forEach(sink::add);
+        if (page.size() == pageSize) {
+            fetchBuilds(projectId, sink, pageSize, offset + pageSize);
+        }
+    }
+
+    private List<ResponseObject<ProjectBuild>> fetchBuildsPage(
+            long projectId, int pageSize, int offset) {
+        return task.apiRequest(
+                api ->
+                        api.getTranslationsApi()
+                                .listProjectBuilds(projectId, null, pageSize, offset)
+                                .getData(),
+                true);
+    }
+
+    private ProjectBuild startBuild(
+            CrowdinProject project,
+            CrowdinTranslationCreateProjectBuildForm buildForm,
+            boolean shard) {
+        ProjectBuild build =
+                task.apiRequest(
+                        api ->
+                                api.getTranslationsApi()
+                                        .buildProjectTranslation(project.getId(), buildForm)
+                                        .getData());
+        if (shard) {
+            logger.lifecycle(
+                    "Build started for project {}, build ID: {}, languages: {}",
+                    project.getId(),
+                    build.getId(),
+                    buildForm.getTargetLanguageIds());
+        } else {
+            logger.lifecycle(
+                    "Build started for project {}, build ID: {}", project.getId(), build.getId());
+        }
+        return build;
+    }
+
+    /**
+     * Gets the latest finished build of the given project.
+     *
+     * @param project the project.
+     * @return the latest finished build, if any.
+     */
+    Optional<ProjectBuild> getLatestFinished(CrowdinProject project) {
+        return findLatestFinished(project.getId(), CrowdinTask.PAGE_SIZE, 0);
+    }
+
+    private Optional<ProjectBuild> findLatestFinished(long projectId, int pageSize, int offset) {
+        List<ResponseObject<ProjectBuild>> page = fetchBuildsPage(projectId, pageSize, offset);
+        Optional<ProjectBuild> build =
+                page.stream()
+                        .map(ResponseObject::getData)
+                        .filter(e -> FINISHED.equals(e.getStatus()))
+                        .findFirst();
+        if (build.isEmpty() && page.size() == pageSize) {
+            return findLatestFinished(projectId, pageSize, offset + pageSize);
+        }
+        return build;
+    }
+
+    /**
+     * Polls the status of the given build until no longer in progress.
+     *
+     * <p>The build is polled in the scheduler, without blocking a thread while waiting, more often
+     * while it is expected to finish soon.
+     *
+     * @param build the build, with its last known status.
+     * @return a future completed with the build, with its final status, once no longer in
+     *     progress.
+     */
+    CompletableFuture<ProjectBuild> whenDone(ProjectBuild build) {
+        BuildPoller poller = new BuildPoller(build.getProjectId(), build.getId());
+        poller.poll(build);
+        return poller.result;
+    }
+
+    /**
+     * Polls the status of the given build until finished.
+     *
+     * @param build the build, with its last known status.
+     * @return a future completed with the finished build, or exceptionally with a {@code
+     *     CrowdinPluginException} if the build did not finish successfully.
+     * @see #whenDone(ProjectBuild)
+     */
+    CompletableFuture<ProjectBuild> whenFinished(ProjectBuild build) {
+        return whenDone(build).thenApply(TranslationBuilds::requireFinished);
+    }
+
+    /**
+     * Waits, in the calling thread, for the given build to finish.
+     *
+     * @param projectId the ID of the project.
+     * @param buildId the ID of the build.
+     * @return the finished build.
+     * @throws CrowdinPluginException if the build did not finish successfully or if interrupted.
+     */
+    ProjectBuild waitFor(long projectId, long buildId) {
+        CompletableFuture<ProjectBuild> finished = whenFinished(checkStatus(projectId, buildId));
+        try {
+            return finished.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CrowdinPluginException(
+                    "Interrupted while waiting for build " + buildId + " to finish.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CrowdinPluginException(e.getCause());
+        }
+    }
+
+    private static ProjectBuild requireFinished(ProjectBuild build) {
+        if (!isFinished(build)) {
+            throw new CrowdinPluginException(
+                    "Build "
+                            + build.getId()
+                            + " not finished for project "
+                            + build.getProjectId()
+                            + ", status: "
+                            + build.getStatus());
+        }
+        return build;
+    }
+
+    /**
+     * Checks the status of the given build.
+     *
+     * @param projectId the ID of the project.
+     * @param buildId the ID of the build.
+     * @return the build, with the current status.
+     */
+    ProjectBuild checkStatus(long projectId, long buildId) {
+        return task.apiRequest(
+                api -> api.getTranslationsApi().checkBuildStatus(projectId, buildId).getData(),
+                true);
+    }
+
+    /**
+     * Deletes the translation packages of the given project, previously downloaded, that are no
+     * longer expected with the given number of packages.
+     *
+     * @param projectId the ID of the project.
+     * @param directory the directory with the packages.
+     * @param packages the number of packages expected.
+     */
+    void deleteStalePackages(long projectId, Path directory, int packages) {
+        Set<String> expected = new HashSet<>();
+        for (int i = 1; i <= packages; i++) {
+            expected.add(TranslationsCopier.getPackageName(projectId, i, packages));
+        }
+
+        try {
+            for (Path file : TranslationsCopier.findPackages(directory, projectId)) {
+                if (!expected.contains(file.getFileName().toString())) {
+                    Files.delete(file);
+                    PackageMetadata.delete(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new CrowdinPluginException(
+                    "Failed to delete the previous packages for project "
+                            + projectId
+                            + ", cause: "
+                            + e.getMessage(),
+                    e);
+        }
+    }
+
+    /**
+     * Downloads the translation package of the given build, if not already downloaded.
+     *
+     * @param build the finished build.
+     * @param file the file to where to download the package.
+     */
+    void download(ProjectBuild build, Path file) {
+        long projectId = build.getProjectId();
+        Optional<PackageMetadata> metadata = PackageMetadata.read(file);
+        if (metadata.isPresent() && metadata.get().isCurrent(build.getId(), file)) {
+            logger.lifecycle(
+                    "Build {} of project {} already downloaded.", build.getId(), projectId);
+            return;
+        }
+        PackageMetadata.delete(file);
+
+        try {
+            String digest =
+                    downloader.download(() -> getDownloadLocation(build), build.getId(), file);
+            PackageMetadata.create(build.getId(), file, digest).write(file);
+        } catch (IOException e) {
+            throw new CrowdinPluginException(
+                    "Failed to download the package for project "
+                            + projectId
+                            + ", cause: "
+                            + e.getMessage(),
+                    e);
+        }
+        logger.lifecycle("Downloaded build {} of project {}.", build.getId(), projectId);
+    }
+
+    /**
+     * Reads the translation package of the given build, as downloaded.
+     *
+     * @param build the finished build.
+     * @param reader the reader of the package.
+     */
+    void read(ProjectBuild build, PackageDownloader.PackageReader reader) {
+        try {
+            downloader.read(() -> getDownloadLocation(build), reader);
+        } catch (IOException e) {
+            throw new CrowdinPluginException(
+                    "Failed to read the package for project "
+                            + build.getProjectId()
+                            + ", cause: "
+                            + e.getMessage(),
+                    e);
+        }
+        logger.lifecycle("Read build {} of project {}.", build.getId(), build.getProjectId());
+    }
+
+    private URI getDownloadLocation(ProjectBuild build) {
+        DownloadLink downloadLink =
+                task.apiRequest(
+                        api ->
+                                api.getTranslationsApi()
+                                        .downloadProjectTranslations(
+                                                build.getProjectId(), build.getId())
+                                        .getData(),
+                        true);
+        try {
+            return URI.create(downloadLink.getUrl());
+        } catch (IllegalArgumentException e) {
+            throw new CrowdinPluginException(
+                    "Failed to create the download URL for project "
+                            + build.getProjectId()
+                            + ", cause: "
+                            + e.getMessage(),
+                    e);
+        }
+    }
+
+    static boolean isInProgressOrCreated(ProjectBuild build) {
+        String status = build.getStatus();
+        return "inProgress".equals(status) || "created".equals(status);
+    }
+
+    static boolean isFinished(ProjectBuild build) {
+        return FINISHED.equals(build.getStatus());
+    }
+
+    private synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newScheduledThreadPool(maxPollThreads);
+        }
+        return scheduler;
+    }
+
+    /** Stops polling the builds. */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /** Polls the status of a build, until no longer in progress. */
+    private class BuildPoller implements Runnable {
+
+        private final long projectId;
+        private final long buildId;
+        private final PollSchedule schedule;
+        private final long start;
+        private final CompletableFuture<ProjectBuild> result;
+
+        BuildPoller(long projectId, long buildId) {
+            this.projectId = projectId;
+            this.buildId = buildId;
+            this.schedule = new PollSchedule(POLL_INITIAL_DELAY, POLL_MAX_DELAY, POLL_GROWTH);
+            this.start = System.nanoTime();
+            this.result = new CompletableFuture<>();
+        }
+
+        void poll(ProjectBuild build) {
+            if (!isInProgressOrCreated(build)) {
+                result.complete(build);
+                return;
+            }
+
+            Integer progress = build.getProgress();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            Duration delay = schedule.nextDelay(elapsed, progress != null ? progress : -1);
+            try {
+                getScheduler().schedule(this, delay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(
+                        new CrowdinPluginException(
+                                "Stopped waiting for build " + buildId + " to finish.", e));
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                poll(checkStatus(projectId, buildId));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
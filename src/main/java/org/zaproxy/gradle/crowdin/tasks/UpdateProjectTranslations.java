@@ -0,0 +1,225 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.tasks;
+
+import com.crowdin.client.translations.model.CrowdinTranslationCreateProjectBuildForm;
+import com.crowdin.client.translations.model.ProjectBuild;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.options.Option;
+import org.zaproxy.gradle.crowdin.internal.SimpleLogger;
+import org.zaproxy.gradle.crowdin.internal.TranslationsCopier;
+import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinConfiguration;
+import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
+
+/**
+ * Builds, downloads, and copies the translations of the projects.
+ *
+ * <p>The builds of all the projects are started first, then each package is downloaded as soon as
+ * its build finishes, in whichever order they finish, and the translations of a project are copied
+ * once all its packages are downloaded, while other projects are still being built.
+ */
+public abstract class UpdateProjectTranslations extends CrowdinTask {
+
+    @SuppressWarnings("this-escape")
+    public UpdateProjectTranslations() {
+        setDescription("Builds, downloads, and copies the project translations, per project.");
+
+        getTargetLanguageIds().convention(Collections.emptyList());
+        getSkipUntranslatedStrings().convention(false);
+        getSkipUntranslatedFiles().convention(false);
+        getExportApprovedOnly().convention(false);
+        getLanguagesPerBuild().convention(0);
+        getReuseBuilds().convention(true);
+        getKeepPackages().convention(true);
+
+        doNotTrackState("Depends on the state of the Crowdin projects.");
+    }
+
+    @Input
+    public abstract ListProperty<String> getTargetLanguageIds();
+
+    @Input
+    public abstract Property<Boolean> getSkipUntranslatedStrings();
+
+    @Input
+    public abstract Property<Boolean> getSkipUntranslatedFiles();
+
+    @Input
+    public abstract Property<Boolean> getExportApprovedOnly();
+
+    /**
+     * Gets the maximum number of target languages per build.
+     *
+     * @return the property that controls the number of languages per build, {@code 0} (the
+     *     default) to build all the languages at once.
+     * @see BuildProjectTranslation#getLanguagesPerBuild()
+     */
+    @Input
+    public abstract Property<Integer> getLanguagesPerBuild();
+
+    /**
+     * Gets whether or not the latest finished build of a project is reused.
+     *
+     * @return the property that controls the reuse of the builds.
+     * @see BuildProjectTranslation#getReuseBuilds()
+     */
+    @Input
+    public abstract Property<Boolean> getReuseBuilds();
+
+    /**
+     * Gets whether or not the translation packages are kept in the packages directory.
+     *
+     * <p>If not kept, the translations are extracted while downloading the packages, in one pass.
+     *
+     * @return the property that controls if the packages are kept, {@code true} by default.
+     */
+    @Input
+    public abstract Property<Boolean> getKeepPackages();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getTranslationsPackageDirectory();
+
+    @Input
+    @Option(
+            option = "file-filter",
+            description = "Filters the files that contain the given strings in their file path.")
+    public abstract ListProperty<String> getFileFilter();
+
+    @TaskAction
+    void update() {
+        CrowdinTranslationCreateProjectBuildForm buildForm =
+                new CrowdinTranslationCreateProjectBuildForm();
+        buildForm.setTargetLanguageIds(getTargetLanguageIds().get());
+        buildForm.setSkipUntranslatedStrings(getSkipUntranslatedStrings().get());
+        buildForm.setSkipUntranslatedFiles(getSkipUntranslatedFiles().get());
+        buildForm.setExportApprovedOnly(getExportApprovedOnly().get());
+
+        CrowdinConfiguration configuration = getCrowdinConfiguration();
+        try (TranslationBuilds translationBuilds = new TranslationBuilds(this)) {
+            long start = System.nanoTime();
+            int languagesPerBuild = getLanguagesPerBuild().get();
+            boolean reuse = getReuseBuilds().get();
+            Map<CrowdinProject, List<ProjectBuild>> builds = new LinkedHashMap<>();
+            for (CrowdinProject project : configuration.getProjects()) {
+                List<ProjectBuild> projectBuilds =
+                        translationBuilds.start(project, buildForm, languagesPerBuild, reuse);
+                getSimpleLogger(project).lifecycle("Started {} build(s).", projectBuilds.size());
+                builds.put(project, projectBuilds);
+            }
+
+            ExecutorService executor =
+                    createRequestExecutor(Math.max(1, getMaxConcurrentRequests().get()));
+            try {
+                List<CompletableFuture<Void>> pipelines = new ArrayList<>(builds.size());
+                builds.forEach(
+                        (project, projectBuilds) ->
+                                pipelines.add(
+                                        update(
+                                                translationBuilds,
+                                                executor,
+                                                project,
+                                                projectBuilds,
+                                                start)));
+                waitForAll(pipelines);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private CompletableFuture<Void> update(
+            TranslationBuilds translationBuilds,
+            Executor executor,
+            CrowdinProject project,
+            List<ProjectBuild> builds,
+            long start) {
+        SimpleLogger logger = getSimpleLogger(project);
+        Path baseDir = getProjectLayout().getProjectDirectory().getAsFile().toPath();
+        Path packagesDir = getTranslationsPackageDirectory().getAsFile().get().toPath();
+
+        TranslationsCopier copier = new TranslationsCopier(packagesDir, logger, this::filter);
+        boolean keepPackages = getKeepPackages().get();
+        if (keepPackages) {
+            translationBuilds.deleteStalePackages(project.getId(), packagesDir, builds.size());
+        }
+
+        CompletableFuture<?>[] shards = new CompletableFuture<?>[builds.size()];
+        for (int i = 0; i < builds.size(); i++) {
+            String name = TranslationsCopier.getPackageName(project.getId(), i + 1, builds.size());
+            shards[i] =
+                    translationBuilds
+                            .whenFinished(builds.get(i))
+                            .thenAcceptAsync(
+                                    build -> {
+                                        logger.lifecycle(
+                                                "Build {} done after {} s.",
+                                                build.getId(),
+                                                secondsSince(start));
+                                        if (keepPackages) {
+                                            translationBuilds.download(
+                                                    build, packagesDir.resolve(name));
+                                        } else {
+                                            translationBuilds.read(
+                                                    build,
+                                                    in -> copier.extract(project, in, baseDir));
+                                        }
+                                    },
+                                    executor);
+        }
+
+        return CompletableFuture.allOf(shards)
+                .thenRunAsync(
+                        () -> {
+                            if (keepPackages) {
+                                logger.lifecycle("Downloaded after {} s.", secondsSince(start));
+                                copier.copy(project, baseDir);
+                            }
+                            logger.lifecycle("Copied after {} s.", secondsSince(start));
+                        },
+                        executor);
+    }
+
+    private static long secondsSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000_000L;
+    }
+
+    private boolean filter(String entry) {
+        for (String filter : getFileFilter().get()) {
+            if (entry.contains(filter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -19,6 +19,8 @@
  */
 package org.zaproxy.gradle.crowdin.tasks;
 
+import com.crowdin.client.core.model.PatchOperation;
+import com.crowdin.client.core.model.PatchRequest;
 import com.crowdin.client.sourcefiles.model.AddDirectoryRequest;
 import com.crowdin.client.sourcefiles.model.AddFileRequest;
 import com.crowdin.client.sourcefiles.model.Directory;
@@ -27,46 +29,480 @@ import com.crowdin.client.sourcefiles.model.UpdateFileRequest;
 import com.crowdin.client.storage.model.Storage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.ConfigurableFileTree;
+import org.gradle.api.file.FileTreeElement;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.ProviderFactory;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
 import org.zaproxy.gradle.crowdin.CrowdinPluginException;
 import org.zaproxy.gradle.crowdin.internal.ApiClient;
+import org.zaproxy.gradle.crowdin.internal.AsyncApiClient;
+import org.zaproxy.gradle.crowdin.internal.RequestController;
 import org.zaproxy.gradle.crowdin.internal.SourceFilesUploader;
+import org.zaproxy.gradle.crowdin.internal.StorageCache;
+import org.zaproxy.gradle.crowdin.internal.UploadJournal;
+import org.zaproxy.gradle.crowdin.internal.UploadedFiles;
 import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinConfiguration;
 import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
 import org.zaproxy.gradle.crowdin.internal.local.LocalFile;
+import org.zaproxy.gradle.crowdin.internal.local.LocalVfs;
 import org.zaproxy.gradle.crowdin.internal.remote.RemoteItem;
+import org.zaproxy.gradle.crowdin.internal.remote.RemoteVfs;
 
+/**
+ * Uploads the source files to Crowdin, creating, updating, moving, and removing the files and
+ * directories as needed.
+ *
+ * <p>The files moved/renamed locally are moved in Crowdin only if they were uploaded previously
+ * from the same build directory, the files uploaded are recorded in it, otherwise (e.g. in a clean
+ * checkout) they are removed and added again.
+ */
 public abstract class UploadSourceFiles extends CrowdinTask {
 
+    private static final String UPLOADED_FILES = "crowdin/uploaded-files.bin";
+
+    private static final String UPLOAD_JOURNAL = "crowdin/upload-journal.bin";
+
     @SuppressWarnings("this-escape")
     public UploadSourceFiles() {
         setDescription("Uploads the source files to Crowdin.");
+
+        getSourceFiles().from(getProviderFactory().provider(this::createSourceFileTrees));
+        getStateFile()
+                .convention(
+                        getProjectLayout().getBuildDirectory().file("crowdin/upload-state.txt"));
+        getJournalValidity().convention(Duration.ofHours(1));
+    }
+
+    @Inject
+    protected ObjectFactory getObjectFactory() {
+        throw new UnsupportedOperationException();
     }
 
+    @Inject
+    protected ProviderFactory getProviderFactory() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the source files of all projects, resolved from the configuration file.
+     *
+     * <p>Each source directory is a file tree, the paths are relative to it like the paths built
+     * for Crowdin.
+     *
+     * @return the source files.
+     */
+    @Incremental
+    @InputFiles
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getSourceFiles();
+
+    /**
+     * Gets the file where the result of the last upload is written.
+     *
+     * <p>Allows Gradle to track the state of the task, to run it incrementally.
+     *
+     * @return the state file.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getStateFile();
+
+    /**
+     * Gets for how long the operations of an upload that did not complete are trusted.
+     *
+     * <p>The files uploaded and the storages added within this period are not uploaded/added
+     * again, which allows to resume the upload.
+     *
+     * @return the property with the validity of the upload journal.
+     */
+    @Internal
+    public abstract Property<Duration> getJournalValidity();
+
     @TaskAction
-    void upload() {
+    void upload(InputChanges inputChanges) {
         CrowdinConfiguration configuration = getCrowdinConfiguration();
 
-        Wrapper client = new Wrapper();
-        for (CrowdinProject project : configuration.getProjects()) {
-            new SourceFilesUploader(
-                            client, project, createLocalVfs(project), createCrowdinVfs(project))
-                    .upload();
+        Predicate<LocalFile> updateFilter = file -> true;
+        if (inputChanges.isIncremental()) {
+            Set<Path> changedFiles = getChangedFiles(inputChanges);
+            getLogger()
+                    .lifecycle(
+                            "Uploading incrementally, {} source file(s) changed.",
+                            changedFiles.size());
+            updateFilter = file -> changedFiles.contains(normalize(file.getPath()));
+        }
+
+        UploadJournal journal = openJournal();
+        StorageCache storageCache = new StorageCache(journal);
+        UploadedFiles uploadedFiles = loadUploadedFiles();
+        List<CrowdinProject> projects = configuration.getProjects();
+        String[] state = new String[projects.size()];
+        ExecutorService requestExecutor = createRequestExecutor(getMaxConcurrentRequests().get());
+        AsyncApiClient client = new AsyncApiClient(new Wrapper(storageCache), requestExecutor);
+        List<Runnable> actions = new ArrayList<>(projects.size());
+        for (int i = 0; i < projects.size(); i++) {
+            int idx = i;
+            UploadContext context =
+                    new UploadContext(
+                            client,
+                            projects.get(i),
+                            updateFilter,
+                            uploadedFiles,
+                            journal,
+                            requestExecutor);
+            actions.add(() -> state[idx] = uploadProject(context));
+        }
+        boolean completed = false;
+        try {
+            runConcurrently(actions);
+            completed = true;
+        } finally {
+            requestExecutor.shutdownNow();
+            closeJournal(journal, completed);
+            saveLocalFileIndex();
+            saveUploadedFiles(uploadedFiles);
+        }
+
+        if (storageCache.getReuses() > 0) {
+            getLogger()
+                    .info(
+                            "Uploaded {} storage(s), reused {} time(s) for identical content.",
+                            storageCache.getUploads(),
+                            storageCache.getReuses());
+        }
+
+        RequestController requestController = getRequestController();
+        if (requestController.getRetries() > 0) {
+            getLogger()
+                    .info(
+                            "Retried {} request(s), {} throttled by Crowdin.",
+                            requestController.getRetries(),
+                            requestController.getThrottles());
+        }
+
+        writeState(Arrays.asList(state));
+    }
+
+    private String uploadProject(UploadContext context) {
+        CrowdinProject project = context.project;
+        long start = System.nanoTime();
+        CompletableFuture<Long> remoteEnd = new CompletableFuture<>();
+        CompletableFuture<RemoteVfs> remoteVfs =
+                CompletableFuture.supplyAsync(
+                        () -> {
+                            RemoteVfs vfs = createCrowdinVfs(project);
+                            remoteEnd.complete(System.nanoTime());
+                            return vfs;
+                        },
+                        context.requestExecutor);
+
+        LocalVfs localVfs;
+        try {
+            localVfs = createLocalVfs(project);
+        } catch (RuntimeException e) {
+            remoteVfs.cancel(false);
+            throw e;
+        }
+        long localEnd = System.nanoTime();
+
+        SourceFilesUploader uploader =
+                new SourceFilesUploader(
+                        context.client,
+                        project,
+                        localVfs,
+                        join(remoteVfs),
+                        context.updateFilter,
+                        context.uploadedFiles,
+                        context.journal);
+        long uploadStart = System.nanoTime();
+        uploader.upload();
+        long end = System.nanoTime();
+
+        getLogger()
+                .info(
+                        "Project {}: local files {} ms, remote files {} ms, upload {} ms.",
+                        project.getId(),
+                        toMillis(localEnd - start),
+                        toMillis(remoteEnd.join() - start),
+                        toMillis(end - uploadStart));
+
+        getLogger()
+                .lifecycle(
+                        "Project {}: {} file(s) created, {} updated, {} moved, {} removed.",
+                        project.getId(),
+                        uploader.getFilesCreated(),
+                        uploader.getFilesUpdated(),
+                        uploader.getFilesMoved(),
+                        uploader.getItemsRemoved());
+        if (uploader.getFilesResumed() > 0) {
+            getLogger()
+                    .lifecycle(
+                            "Project {}: {} file(s) already uploaded by the previous upload.",
+                            project.getId(),
+                            uploader.getFilesResumed());
+        }
+        if (uploader.getRemovalsSaved() > 0) {
+            getLogger()
+                    .info(
+                            "Project {}: {} removal(s) skipped, parent directory removed.",
+                            project.getId(),
+                            uploader.getRemovalsSaved());
+        }
+        return project.getId()
+                + " created="
+                + uploader.getFilesCreated()
+                + " updated="
+                + uploader.getFilesUpdated()
+                + " moved="
+                + uploader.getFilesMoved()
+                + " removed="
+                + uploader.getItemsRemoved();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private UploadJournal openJournal() {
+        Path file =
+                getProjectLayout()
+                        .getBuildDirectory()
+                        .file(UPLOAD_JOURNAL)
+                        .get()
+                        .getAsFile()
+                        .toPath();
+        try {
+            return UploadJournal.open(file, getJournalValidity().get());
+        } catch (IOException e) {
+            throw new CrowdinPluginException(
+                    "An error occurred while opening the upload journal, cause: " + e.getMessage(),
+                    e);
+        }
+    }
+
+    private void closeJournal(UploadJournal journal, boolean completed) {
+        try {
+            if (completed) {
+                journal.delete();
+            } else {
+                journal.close();
+            }
+        } catch (IOException e) {
+            getLogger().warn("Failed to close the upload journal: {}", e.getMessage(), e);
+        }
+    }
+
+    private UploadedFiles loadUploadedFiles() {
+        Path file =
+                getProjectLayout()
+                        .getBuildDirectory()
+                        .file(UPLOADED_FILES)
+                        .get()
+                        .getAsFile()
+                        .toPath();
+        try {
+            return UploadedFiles.load(file);
+        } catch (IOException e) {
+            throw new CrowdinPluginException(
+                    "An error occurred while reading the uploaded files, cause: " + e.getMessage(),
+                    e);
+        }
+    }
+
+    private void saveUploadedFiles(UploadedFiles uploadedFiles) {
+        try {
+            uploadedFiles.save();
+        } catch (IOException e) {
+            getLogger().warn("Failed to save the uploaded files: {}", e.getMessage(), e);
+        }
+    }
+
+    private Set<Path> getChangedFiles(InputChanges inputChanges) {
+        Set<Path> changedFiles = new HashSet<>();
+        for (FileChange change : inputChanges.getFileChanges(getSourceFiles())) {
+            if (change.getFileType() == FileType.FILE
+                    && change.getChangeType() != ChangeType.REMOVED) {
+                changedFiles.add(normalize(change.getFile().toPath()));
+            }
+        }
+        return changedFiles;
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private List<ConfigurableFileTree> createSourceFileTrees() {
+        Path projectDir = getProjectLayout().getProjectDirectory().getAsFile().toPath();
+        List<ConfigurableFileTree> trees = new ArrayList<>();
+        for (CrowdinProject project : readCrowdinConfiguration().getProjects()) {
+            for (Map.Entry<Path, List<String>> entry :
+                    LocalVfs.getSourcePatterns(projectDir, project).entrySet()) {
+                ConfigurableFileTree tree =
+                        getObjectFactory().fileTree().from(entry.getKey().toFile());
+                tree.include(new GlobSpec(entry.getValue()));
+                trees.add(tree);
+            }
+        }
+        return trees;
+    }
+
+    private void writeState(List<String> state) {
+        Path file = getStateFile().getAsFile().get().toPath();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, state, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new CrowdinPluginException(
+                    "An error occurred while writing the upload state, cause: " + e.getMessage(),
+                    e);
+        }
+    }
+
+    /**
+     * Includes the files matched by the glob patterns of the file sets, with the same semantics as
+     * when enumerating the files of the project. The directories are always included, to visit
+     * all the files.
+     */
+    private static class GlobSpec implements Spec<FileTreeElement>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> patterns;
+        private transient List<PathMatcher> matchers;
+
+        GlobSpec(List<String> patterns) {
+            this.patterns = new ArrayList<>(patterns);
+        }
+
+        @Override
+        public boolean isSatisfiedBy(FileTreeElement element) {
+            if (element.isDirectory()) {
+                return true;
+            }
+
+            Path path = Paths.get(element.getRelativePath().getPathString());
+            for (PathMatcher matcher : getMatchers()) {
+                if (matcher.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized List<PathMatcher> getMatchers() {
+            if (matchers == null) {
+                matchers =
+                        patterns.stream().map(LocalVfs::createMatcher).collect(Collectors.toList());
+            }
+            return matchers;
+        }
+    }
+
+    private static class UploadContext {
+
+        private final AsyncApiClient client;
+        private final CrowdinProject project;
+        private final Predicate<LocalFile> updateFilter;
+        private final UploadedFiles uploadedFiles;
+        private final UploadJournal journal;
+        private final ExecutorService requestExecutor;
+
+        UploadContext(
+                AsyncApiClient client,
+                CrowdinProject project,
+                Predicate<LocalFile> updateFilter,
+                UploadedFiles uploadedFiles,
+                UploadJournal journal,
+                ExecutorService requestExecutor) {
+            this.client = client;
+            this.project = project;
+            this.updateFilter = updateFilter;
+            this.uploadedFiles = uploadedFiles;
+            this.journal = journal;
+            this.requestExecutor = requestExecutor;
         }
     }
 
     private class Wrapper implements ApiClient {
 
+        private final StorageCache storageCache;
+
+        Wrapper(StorageCache storageCache) {
+            this.storageCache = storageCache;
+        }
+
+        private long addStorage(LocalFile localFile) {
+            return storageCache.getStorageId(
+                    localFile.getDigest(),
+                    localFile.getName(),
+                    () -> addStorage(localFile.getName(), localFile.getPath()).getId());
+        }
+
         private Storage addStorage(String name, Path path) {
-            try (InputStream is = Files.newInputStream(path)) {
-                return apiRequest(api -> api.getStorageApi().addStorage(name, is).getData());
-            } catch (IOException e) {
-                throw new CrowdinPluginException(
-                        "An error occurred while reading a local file, cause: " + e.getMessage(),
-                        e);
-            }
+            // The latency depends on the size of the file, not used to adapt the concurrency.
+            // The client takes just an InputStream, wrapped in its own HTTP entity, the content is
+            // streamed but the length and the transfer can't be controlled from here.
+            return apiRequest(
+                    null,
+                    api -> {
+                        try (InputStream is = Files.newInputStream(path)) {
+                            return api.getStorageApi().addStorage(name, is).getData();
+                        } catch (IOException e) {
+                            throw new CrowdinPluginException(
+                                    "An error occurred while reading a local file, cause: "
+                                            + e.getMessage(),
+                                    e);
+                        }
+                    },
+                    false);
         }
 
         @Override
@@ -80,11 +516,9 @@ public abstract class UploadSourceFiles extends CrowdinTask {
 
         @Override
         public FileInfo createFile(long projectId, Long parentId, LocalFile localFile) {
-            Storage storage = addStorage(localFile.getName(), localFile.getPath());
-
             AddFileRequest addFile = new AddFileRequest();
             addFile.setName(localFile.getName());
-            addFile.setStorageId(storage.getId());
+            addFile.setStorageId(addStorage(localFile));
             addFile.setDirectoryId(parentId);
             addFile.setType(localFile.getType());
             addFile.setImportOptions(localFile.getImportOptions());
@@ -95,9 +529,8 @@ public abstract class UploadSourceFiles extends CrowdinTask {
 
         @Override
         public FileInfo updateFile(long projectId, long fileId, LocalFile localFile) {
-            Storage storage = addStorage(localFile.getName(), localFile.getPath());
             UpdateFileRequest updateFile = new UpdateFileRequest();
-            updateFile.setStorageId(storage.getId());
+            updateFile.setStorageId(addStorage(localFile));
             updateFile.setImportOptions(localFile.getImportOptions());
             updateFile.setExportOptions(localFile.getExportOptions());
 
@@ -105,7 +538,34 @@ public abstract class UploadSourceFiles extends CrowdinTask {
                     api ->
                             api.getSourceFilesApi()
                                     .updateOrRestoreFile(projectId, fileId, updateFile)
-                                    .getData());
+                                    .getData(),
+                    true);
+        }
+
+        @Override
+        public FileInfo moveFile(long projectId, long fileId, Long parentId, String name) {
+            List<PatchRequest> request = new ArrayList<>(2);
+            request.add(createPatchRequest("/directoryId", parentId));
+            request.add(createPatchRequest("/name", name));
+
+            return apiRequest(
+                    api -> api.getSourceFilesApi().editFile(projectId, fileId, request).getData(),
+                    true);
+        }
+
+        private PatchRequest createPatchRequest(String path, Object value) {
+            PatchRequest request = new PatchRequest();
+            request.setOp(PatchOperation.REPLACE);
+            request.setPath(path);
+            request.setValue(value);
+            return request;
+        }
+
+        @Override
+        public void removeItems(long projectId, List<RemoteItem> items) {
+            List<Runnable> actions = new ArrayList<>(items.size());
+            items.forEach(item -> actions.add(() -> removeItem(projectId, item)));
+            runConcurrently(actions);
         }
 
         @Override
@@ -119,7 +579,8 @@ public abstract class UploadSourceFiles extends CrowdinTask {
                             api.getSourceFilesApi().deleteFile(projectId, item.getId());
                         }
                         return null;
-                    });
+                    },
+                    true);
         }
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link ApiExecutors}. */
+class ApiExecutorsUnitTest {
+
+    @Test
+    void shouldRunAtMostMaxThreadsTasksAtSameTime() throws Exception {
+        // Given
+        ExecutorService executor = ApiExecutors.create(2, false);
+        // When
+        int maxRunning = runTasks(executor, 20);
+        // Then
+        assertThat(maxRunning).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRunAtMostMaxThreadsTasksAtSameTimeWithVirtualThreads() throws Exception {
+        // Given
+        ExecutorService executor = ApiExecutors.create(2, true);
+        // When
+        int maxRunning = runTasks(executor, 20);
+        // Then
+        assertThat(maxRunning).isEqualTo(2);
+    }
+
+    @Test
+    void shouldBoundTasksOfUnboundedExecutor() throws Exception {
+        // Given
+        ExecutorService executor = ApiExecutors.bounded(Executors.newCachedThreadPool(), 3);
+        // When
+        int maxRunning = runTasks(executor, 20);
+        // Then
+        assertThat(maxRunning).isEqualTo(3);
+    }
+
+    private static int runTasks(ExecutorService executor, int count) throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch submitted = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    maxRunning.accumulateAndGet(
+                                            running.incrementAndGet(), Math::max);
+                                    try {
+                                        submitted.await();
+                                        Thread.sleep(5);
+                                    } catch (InterruptedException e) {
+                                        Thread.currentThread().interrupt();
+                                    }
+                                    running.decrementAndGet();
+                                }));
+            }
+            submitted.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return maxRunning.get();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link BuildIds}. */
+class BuildIdsUnitTest {
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldReadEmptyIfFileDoesNotExist() {
+        // Given
+        Path file = dir.resolve("build-ids.properties");
+        // When
+        Map<Long, List<Long>> builds = BuildIds.read(file);
+        // Then
+        assertThat(builds).isEmpty();
+    }
+
+    @Test
+    void shouldWriteAndReadBuildIds() {
+        // Given
+        Path file = dir.resolve("crowdin/build-ids.properties");
+        Map<Long, List<Long>> builds = new LinkedHashMap<>();
+        builds.put(1L, Collections.singletonList(10L));
+        builds.put(2L, Arrays.asList(20L, 21L, 22L));
+        // When
+        BuildIds.write(file, builds);
+        Map<Long, List<Long>> readBuilds = BuildIds.read(file);
+        // Then
+        assertThat(readBuilds).isEqualTo(builds);
+    }
+
+    @Test
+    void shouldWriteOneLinePerProject() throws Exception {
+        // Given
+        Path file = dir.resolve("build-ids.properties");
+        Map<Long, List<Long>> builds = new LinkedHashMap<>();
+        builds.put(1L, Collections.singletonList(10L));
+        builds.put(2L, Arrays.asList(20L, 21L));
+        // When
+        BuildIds.write(file, builds);
+        // Then
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8))
+                .isEqualTo(Arrays.asList("1=10", "2=20,21"));
+    }
+
+    @Test
+    void shouldIgnoreBlankLines() throws Exception {
+        // Given
+        Path file = dir.resolve("build-ids.properties");
+        Files.write(file, Arrays.asList("", "1=10", " "), StandardCharsets.UTF_8);
+        // When
+        Map<Long, List<Long>> builds = BuildIds.read(file);
+        // Then
+        assertThat(builds).isEqualTo(Collections.singletonMap(1L, Arrays.asList(10L)));
+    }
+
+    @Test
+    void shouldThrowIfMalformed() throws Exception {
+        // Given
+        Path file = dir.resolve("build-ids.properties");
+        Files.write(file, Arrays.asList("1=10,a"), StandardCharsets.UTF_8);
+        // When / Then
+        assertThrows(CrowdinException.class, () -> BuildIds.read(file));
+    }
+
+    @Test
+    void shouldThrowIfNoSeparator() throws Exception {
+        // Given
+        Path file = dir.resolve("build-ids.properties");
+        Files.write(file, Arrays.asList("1"), StandardCharsets.UTF_8);
+        // When / Then
+        assertThrows(CrowdinException.class, () -> BuildIds.read(file));
+    }
+
+    @Test
+    void shouldBeStaleIfLatestBuildNewerThanAllIds() {
+        // Given
+        List<Long> ids = Arrays.asList(10L, 12L, 11L);
+        // When
+        boolean stale = BuildIds.isStale(ids, 13L);
+        // Then
+        assertThat(stale).isTrue();
+    }
+
+    @Test
+    void shouldNotBeStaleIfLatestBuildIsOneOfIds() {
+        // Given
+        List<Long> ids = Arrays.asList(10L, 12L, 11L);
+        // When
+        boolean stale = BuildIds.isStale(ids, 11L);
+        // Then
+        assertThat(stale).isFalse();
+    }
+
+    @Test
+    void shouldNotBeStaleIfLatestBuildOlderThanSomeId() {
+        // Given
+        List<Long> ids = Arrays.asList(10L, 12L);
+        // When
+        boolean stale = BuildIds.isStale(ids, 5L);
+        // Then
+        assertThat(stale).isFalse();
+    }
+
+    @Test
+    void shouldNotBeStaleIfNoBuildFinished() {
+        // Given
+        List<Long> ids = Arrays.asList(10L);
+        // When
+        boolean stale = BuildIds.isStale(ids, null);
+        // Then
+        assertThat(stale).isFalse();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link Digests}. */
+class DigestsUnitTest {
+
+    private static final String ABC_DIGEST =
+            "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldConvertDigestToLowerCaseHex() {
+        // Given
+        byte[] digest = {0x00, 0x0f, (byte) 0xab, (byte) 0xff};
+        // When
+        String hex = Digests.toHex(digest);
+        // Then
+        assertThat(hex).isEqualTo("000fabff");
+    }
+
+    @Test
+    void shouldDigestFile() throws Exception {
+        // Given
+        Path file = dir.resolve("file.txt");
+        Files.write(file, "abc".getBytes(StandardCharsets.UTF_8));
+        // When
+        String digest = Digests.digest(file);
+        // Then
+        assertThat(digest).isEqualTo(ABC_DIGEST);
+    }
+
+    @Test
+    void shouldUpdateDigestWithFile() throws Exception {
+        // Given
+        Path file = dir.resolve("file.txt");
+        Files.write(file, "ab".getBytes(StandardCharsets.UTF_8));
+        MessageDigest messageDigest = Digests.createMessageDigest();
+        // When
+        Digests.update(messageDigest, file);
+        messageDigest.update("c".getBytes(StandardCharsets.UTF_8));
+        // Then
+        assertThat(Digests.toHex(messageDigest.digest())).isEqualTo(ABC_DIGEST);
+    }
+}
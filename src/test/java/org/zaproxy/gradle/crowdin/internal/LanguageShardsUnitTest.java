@@ -0,0 +1,89 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link LanguageShards}. */
+class LanguageShardsUnitTest {
+
+    private static final List<String> LANGUAGES =
+            Arrays.asList("de", "es-ES", "fr", "it", "ja", "pt-BR", "zh-CN");
+
+    @Test
+    void shouldNotSplitIfSizeNotPositive() {
+        // Given
+        int size = 0;
+        // When
+        List<List<String>> shards = LanguageShards.split(LANGUAGES, size);
+        // Then
+        assertThat(shards).isEqualTo(Collections.singletonList(LANGUAGES));
+    }
+
+    @Test
+    void shouldNotSplitIfSizeNotSmallerThanLanguages() {
+        // Given
+        int size = LANGUAGES.size();
+        // When
+        List<List<String>> shards = LanguageShards.split(LANGUAGES, size);
+        // Then
+        assertThat(shards).isEqualTo(Collections.singletonList(LANGUAGES));
+    }
+
+    @Test
+    void shouldNotSplitNoLanguages() {
+        // Given
+        List<String> languages = Collections.emptyList();
+        // When
+        List<List<String>> shards = LanguageShards.split(languages, 2);
+        // Then
+        assertThat(shards).isEqualTo(Collections.singletonList(languages));
+    }
+
+    @Test
+    void shouldSplitEvenly() {
+        // Given
+        int size = 3;
+        // When
+        List<List<String>> shards = LanguageShards.split(LANGUAGES, size);
+        // Then
+        assertThat(shards)
+                .isEqualTo(
+                        Arrays.asList(
+                                Arrays.asList("de", "es-ES", "fr"),
+                                Arrays.asList("it", "ja"),
+                                Arrays.asList("pt-BR", "zh-CN")));
+    }
+
+    @Test
+    void shouldSplitInSingleLanguages() {
+        // Given
+        int size = 1;
+        // When
+        List<List<String>> shards = LanguageShards.split(Arrays.asList("de", "fr"), size);
+        // Then
+        assertThat(shards).isEqualTo(Arrays.asList(Arrays.asList("de"), Arrays.asList("fr")));
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link PackageDownloader}, against a local stub server. */
+class PackageDownloaderUnitTest {
+
+    private static final long BUILD_ID = 10;
+
+    @TempDir Path dir;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private URI uri;
+    private byte[] content;
+    private AtomicInteger requests;
+    private String lastRange;
+    private int truncatedResponses;
+    private AtomicInteger stalledResponses;
+    private CountDownLatch stalls;
+
+    private PackageDownloader downloader;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        content = createZip();
+        requests = new AtomicInteger();
+        stalledResponses = new AtomicInteger();
+        stalls = new CountDownLatch(1);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext(
+                "/",
+                exchange -> {
+                    requests.incrementAndGet();
+                    String range = exchange.getRequestHeaders().getFirst("Range");
+                    lastRange = range;
+                    int start = 0;
+                    if (range != null) {
+                        start = Integer.parseInt(range.substring(6, range.length() - 1));
+                        exchange.getResponseHeaders()
+                                .add(
+                                        "Content-Range",
+                                        "bytes "
+                                                + start
+                                                + "-"
+                                                + (content.length - 1)
+                                                + "/"
+                                                + content.length);
+                    }
+                    int length = content.length - start;
+                    exchange.sendResponseHeaders(range != null ? 206 : 200, length);
+                    OutputStream body = exchange.getResponseBody();
+                    if (truncatedResponses > 0) {
+                        truncatedResponses--;
+                        body.write(content, start, length / 2);
+                        body.flush();
+                        exchange.close();
+                        return;
+                    }
+                    if (stalledResponses.getAndUpdate(e -> Math.max(0, e - 1)) > 0) {
+                        body.write(content, start, length / 2);
+                        body.flush();
+                        awaitQuietly(stalls);
+                        exchange.close();
+                        return;
+                    }
+                    body.write(content, start, length);
+                    exchange.close();
+                });
+        server.start();
+        uri =
+                URI.create(
+                        "http://"
+                                + server.getAddress().getHostString()
+                                + ":"
+                                + server.getAddress().getPort()
+                                + "/package.zip");
+
+        downloader =
+                new PackageDownloader(
+                        new SimpleLogger() {}, Duration.ofSeconds(5), 3, Duration.ZERO);
+        file = dir.resolve("42.zip");
+    }
+
+    @AfterEach
+    void tearDown() {
+        stalls.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldDownloadPackage() throws Exception {
+        // Given / When
+        String digest = downloader.download(() -> uri, BUILD_ID, file);
+        // Then
+        assertThat(Files.readAllBytes(file)).isEqualTo(content);
+        assertThat(digest).isEqualTo(digest(content));
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(lastRange).isNull();
+        assertThat(Files.exists(partFile(BUILD_ID))).isFalse();
+    }
+
+    @Test
+    void shouldResumePartialDownloadOfSameBuild() throws Exception {
+        // Given
+        Files.write(partFile(BUILD_ID), Arrays.copyOf(content, 10));
+        // When
+        String digest = downloader.download(() -> uri, BUILD_ID, file);
+        // Then
+        assertThat(Files.readAllBytes(file)).isEqualTo(content);
+        assertThat(digest).isEqualTo(digest(content));
+        assertThat(lastRange).isEqualTo("bytes=10-");
+    }
+
+    @Test
+    void shouldNotResumePartialDownloadOfOtherBuild() throws Exception {
+        // Given
+        Files.write(partFile(BUILD_ID - 1), Arrays.copyOf(content, 10));
+        // When
+        downloader.download(() -> uri, BUILD_ID, file);
+        // Then
+        assertThat(Files.readAllBytes(file)).isEqualTo(content);
+        assertThat(lastRange).isNull();
+        assertThat(Files.exists(partFile(BUILD_ID - 1))).isFalse();
+    }
+
+    @Test
+    void shouldResumeDownloadInterrupted() throws Exception {
+        // Given
+        truncatedResponses = 1;
+        // When
+        String digest = downloader.download(() -> uri, BUILD_ID, file);
+        // Then
+        assertThat(Files.readAllBytes(file)).isEqualTo(content);
+        assertThat(digest).isEqualTo(digest(content));
+        assertThat(requests.get()).isEqualTo(2);
+        assertThat(lastRange).isNotNull();
+    }
+
+    @Test
+    void shouldFailIfNotDownloadedInAllowedAttempts() {
+        // Given
+        truncatedResponses = 3;
+        // When / Then
+        assertThrows(IOException.class, () -> downloader.download(() -> uri, BUILD_ID, file));
+        assertThat(requests.get()).isEqualTo(3);
+        assertThat(Files.exists(file)).isFalse();
+    }
+
+    @Test
+    void shouldNotAcceptInvalidPackage() {
+        // Given
+        content = "Not a zip.".getBytes(StandardCharsets.UTF_8);
+        // When / Then
+        assertThrows(IOException.class, () -> downloader.download(() -> uri, BUILD_ID, file));
+        assertThat(Files.exists(file)).isFalse();
+        assertThat(Files.exists(partFile(BUILD_ID))).isFalse();
+    }
+
+    @Test
+    void shouldReadPackageWithoutWritingIt() throws Exception {
+        // Given
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        // When
+        downloader.read(() -> uri, in -> in.transferTo(read));
+        // Then
+        assertThat(read.toByteArray()).isEqualTo(content);
+        assertThat(dir.toFile().list()).isEmpty();
+    }
+
+    @Test
+    void shouldReadPackageAgainIfInterrupted() throws Exception {
+        // Given
+        truncatedResponses = 1;
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        // When
+        downloader.read(
+                () -> uri,
+                in -> {
+                    read.reset();
+                    in.transferTo(read);
+                });
+        // Then
+        assertThat(read.toByteArray()).isEqualTo(content);
+        assertThat(requests.get()).isEqualTo(2);
+        assertThat(lastRange).isNull();
+    }
+
+    @Test
+    void shouldResumeDownloadStalled() throws Exception {
+        // Given
+        stalledResponses.set(1);
+        downloader =
+                new PackageDownloader(
+                        new SimpleLogger() {}, Duration.ofMillis(500), 3, Duration.ZERO);
+        long start = System.nanoTime();
+        // When
+        String digest = downloader.download(() -> uri, BUILD_ID, file);
+        // Then
+        assertThat(Files.readAllBytes(file)).isEqualTo(content);
+        assertThat(digest).isEqualTo(digest(content));
+        assertThat(requests.get()).isEqualTo(2);
+        assertThat(lastRange).isNotNull();
+        assertThat(elapsedMillis(start)).isLessThan(5000L);
+    }
+
+    @Test
+    void shouldFailIfStalledInAllowedAttempts() {
+        // Given
+        stalledResponses.set(3);
+        downloader =
+                new PackageDownloader(
+                        new SimpleLogger() {}, Duration.ofMillis(500), 3, Duration.ZERO);
+        long start = System.nanoTime();
+        // When
+        IOException e =
+                assertThrows(
+                        IOException.class, () -> downloader.download(() -> uri, BUILD_ID, file));
+        // Then
+        assertThat(e.getMessage()).contains("stalled");
+        assertThat(requests.get()).isEqualTo(3);
+        assertThat(Files.exists(file)).isFalse();
+        assertThat(elapsedMillis(start)).isLessThan(5000L);
+    }
+
+    @Test
+    void shouldReadPackageAgainIfStalled() throws Exception {
+        // Given
+        stalledResponses.set(1);
+        downloader =
+                new PackageDownloader(
+                        new SimpleLogger() {}, Duration.ofMillis(500), 3, Duration.ZERO);
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        // When
+        downloader.read(
+                () -> uri,
+                in -> {
+                    read.reset();
+                    in.transferTo(read);
+                });
+        // Then
+        assertThat(read.toByteArray()).isEqualTo(content);
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Path partFile(long buildId) {
+        return dir.resolve("42.zip." + buildId + ".part");
+    }
+
+    private static byte[] createZip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < 10; i++) {
+                zip.putNextEntry(new ZipEntry("file" + i + ".properties"));
+                zip.write(("key=value " + i).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static String digest(byte[] data) {
+        return Digests.toHex(Digests.createMessageDigest().digest(data));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link PackageMetadata}. */
+class PackageMetadataUnitTest {
+
+    private static final long BUILD_ID = 10;
+
+    private static final FileTime LAST_MODIFIED =
+            FileTime.from(Instant.parse("2026-01-01T10:00:00Z"));
+
+    @TempDir Path dir;
+
+    private Path packageFile;
+    private PackageMetadata metadata;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        packageFile = dir.resolve("42.zip");
+        byte[] content = "content".getBytes(StandardCharsets.UTF_8);
+        Files.write(packageFile, content);
+        Files.setLastModifiedTime(packageFile, LAST_MODIFIED);
+        String digest = Digests.toHex(Digests.createMessageDigest().digest(content));
+        metadata = PackageMetadata.create(BUILD_ID, packageFile, digest);
+    }
+
+    @Test
+    void shouldReadEmptyIfNoMetadata() {
+        // Given / When
+        Optional<PackageMetadata> readMetadata = PackageMetadata.read(packageFile);
+        // Then
+        assertThat(readMetadata).isEmpty();
+    }
+
+    @Test
+    void shouldWriteAndReadMetadata() {
+        // Given
+        metadata.write(packageFile);
+        // When
+        Optional<PackageMetadata> readMetadata = PackageMetadata.read(packageFile);
+        // Then
+        assertThat(readMetadata.isPresent()).isTrue();
+        assertThat(readMetadata.get().getBuildId()).isEqualTo(BUILD_ID);
+        assertThat(readMetadata.get().getSize()).isEqualTo(metadata.getSize());
+        assertThat(readMetadata.get().getLastModified()).isEqualTo(LAST_MODIFIED.toMillis());
+        assertThat(readMetadata.get().getDigest()).isEqualTo(metadata.getDigest());
+    }
+
+    @Test
+    void shouldWriteMetadataNextToPackage() {
+        // Given / When
+        metadata.write(packageFile);
+        // Then
+        assertThat(Files.exists(dir.resolve("42.zip.properties"))).isTrue();
+    }
+
+    @Test
+    void shouldReadEmptyIfMetadataMalformed() throws Exception {
+        // Given
+        Files.writeString(PackageMetadata.getFile(packageFile), "buildId=a");
+        // When
+        Optional<PackageMetadata> readMetadata = PackageMetadata.read(packageFile);
+        // Then
+        assertThat(readMetadata).isEmpty();
+    }
+
+    @Test
+    void shouldBeCurrentIfSameBuildAndContent() {
+        // Given / When
+        boolean current = metadata.isCurrent(BUILD_ID, packageFile);
+        // Then
+        assertThat(current).isTrue();
+    }
+
+    @Test
+    void shouldNotBeCurrentIfDifferentBuild() {
+        // Given / When
+        boolean current = metadata.isCurrent(BUILD_ID + 1, packageFile);
+        // Then
+        assertThat(current).isFalse();
+    }
+
+    @Test
+    void shouldNotBeCurrentIfPackageDoesNotExist() throws Exception {
+        // Given
+        Files.delete(packageFile);
+        // When
+        boolean current = metadata.isCurrent(BUILD_ID, packageFile);
+        // Then
+        assertThat(current).isFalse();
+    }
+
+    @Test
+    void shouldNotBeCurrentIfPackageChanged() throws Exception {
+        // Given
+        Files.write(packageFile, "CONTENT".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(packageFile, FileTime.from(Instant.now()));
+        // When
+        boolean current = metadata.isCurrent(BUILD_ID, packageFile);
+        // Then
+        assertThat(current).isFalse();
+    }
+
+    @Test
+    void shouldBeCurrentIfOnlyLastModifiedChanged() throws Exception {
+        // Given
+        Files.setLastModifiedTime(packageFile, FileTime.from(Instant.now()));
+        // When
+        boolean current = metadata.isCurrent(BUILD_ID, packageFile);
+        // Then
+        assertThat(current).isTrue();
+    }
+
+    @Test
+    void shouldNotReadPackageIfSizeAndLastModifiedUnchanged() {
+        // Given
+        metadata = new PackageMetadata(BUILD_ID, 7, LAST_MODIFIED.toMillis(), "not read");
+        // When
+        boolean current = metadata.isCurrent(BUILD_ID, packageFile);
+        // Then
+        assertThat(current).isTrue();
+    }
+
+    @Test
+    void shouldReadPackageIfLastModifiedUnknown() {
+        // Given
+        metadata = new PackageMetadata(BUILD_ID, 7, -1, "not read");
+        // When
+        boolean current = metadata.isCurrent(BUILD_ID, packageFile);
+        // Then
+        assertThat(current).isFalse();
+    }
+
+    @Test
+    void shouldDeleteMetadata() {
+        // Given
+        metadata.write(packageFile);
+        // When
+        PackageMetadata.delete(packageFile);
+        // Then
+        assertThat(Files.exists(PackageMetadata.getFile(packageFile))).isFalse();
+        assertThat(Files.exists(packageFile)).isTrue();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link PathTrie}. */
+class PathTrieUnitTest {
+
+    private PathTrie<String> trie;
+    private List<String> found;
+
+    @BeforeEach
+    void setUp() {
+        trie = new PathTrie<>();
+        found = new ArrayList<>();
+    }
+
+    @Test
+    void shouldFindNothingIfEmpty() {
+        // Given / When
+        find("a/b/file.properties");
+        // Then
+        assertThat(found).isEmpty();
+    }
+
+    @Test
+    void shouldFindDirContainingPath() {
+        // Given
+        trie.put("/a/b", "B");
+        trie.put("/c", "C");
+        // When
+        find("a/b/de/file.properties");
+        // Then
+        assertThat(found).containsExactly("B:de/file.properties");
+    }
+
+    @Test
+    void shouldFindAllDirsContainingPathFromOutermost() {
+        // Given
+        trie.put("/a/b", "B");
+        trie.put("/a", "A");
+        trie.put("/a/b", "B2");
+        // When
+        find("a/b/file.properties");
+        // Then
+        assertThat(found)
+                .containsExactly(
+                        "A:b/file.properties", "B:file.properties", "B2:file.properties");
+    }
+
+    @Test
+    void shouldMatchWholeDirNames() {
+        // Given
+        trie.put("/a/b", "B");
+        // When
+        find("a/bc/file.properties");
+        find("a/b");
+        // Then
+        assertThat(found).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreLeadingAndTrailingSeparatorsOfDirs() {
+        // Given
+        trie.put("a/b/", "B");
+        // When
+        find("a/b/file.properties");
+        // Then
+        assertThat(found).containsExactly("B:file.properties");
+    }
+
+    @Test
+    void shouldFindRootDirForAllPaths() {
+        // Given
+        trie.put("/", "R");
+        // When
+        find("file.properties");
+        find("a/file.properties");
+        // Then
+        assertThat(found).containsExactly("R:file.properties", "R:a/file.properties");
+    }
+
+    private void find(String path) {
+        trie.find(path, (value, relativePath) -> found.add(value + ":" + relativePath));
+    }
+}
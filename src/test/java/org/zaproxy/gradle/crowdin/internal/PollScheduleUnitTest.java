@@ -0,0 +1,103 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link PollSchedule}. */
+class PollScheduleUnitTest {
+
+    private static final Duration INITIAL = Duration.ofSeconds(2);
+    private static final Duration MAX = Duration.ofSeconds(30);
+
+    @Test
+    void shouldNotAllowGrowthLowerThanOne() {
+        // Given
+        double growth = 0.5;
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new PollSchedule(INITIAL, MAX, growth));
+    }
+
+    @Test
+    void shouldStartWithInitialDelay() {
+        // Given
+        PollSchedule schedule = new PollSchedule(INITIAL, MAX, 2);
+        // When
+        Duration delay = schedule.nextDelay(Duration.ZERO, -1);
+        // Then
+        assertThat(delay).isEqualTo(INITIAL);
+    }
+
+    @Test
+    void shouldGrowDelayUpToMax() {
+        // Given
+        PollSchedule schedule = new PollSchedule(INITIAL, MAX, 2);
+        // When
+        Duration first = schedule.nextDelay(Duration.ZERO, -1);
+        Duration second = schedule.nextDelay(Duration.ofSeconds(2), -1);
+        Duration third = schedule.nextDelay(Duration.ofSeconds(6), -1);
+        schedule.nextDelay(Duration.ofSeconds(14), -1);
+        Duration fifth = schedule.nextDelay(Duration.ofSeconds(30), -1);
+        Duration sixth = schedule.nextDelay(Duration.ofSeconds(60), -1);
+        // Then
+        assertThat(first).isEqualTo(Duration.ofSeconds(2));
+        assertThat(second).isEqualTo(Duration.ofSeconds(4));
+        assertThat(third).isEqualTo(Duration.ofSeconds(8));
+        assertThat(fifth).isEqualTo(MAX);
+        assertThat(sixth).isEqualTo(MAX);
+    }
+
+    @Test
+    void shouldShortenDelayIfProgressIndicatesOperationFinishesSooner() {
+        // Given
+        PollSchedule schedule = new PollSchedule(INITIAL, MAX, 2);
+        schedule.nextDelay(Duration.ZERO, -1);
+        schedule.nextDelay(Duration.ofSeconds(2), -1);
+        // When
+        Duration delay = schedule.nextDelay(Duration.ofSeconds(6), 60);
+        // Then
+        assertThat(delay).isEqualTo(Duration.ofSeconds(4));
+    }
+
+    @Test
+    void shouldNotShortenDelayBelowInitialDelay() {
+        // Given
+        PollSchedule schedule = new PollSchedule(INITIAL, MAX, 2);
+        schedule.nextDelay(Duration.ZERO, -1);
+        // When
+        Duration delay = schedule.nextDelay(Duration.ofSeconds(2), 99);
+        // Then
+        assertThat(delay).isEqualTo(INITIAL);
+    }
+
+    @Test
+    void shouldNotLengthenDelayIfProgressIndicatesOperationFinishesLater() {
+        // Given
+        PollSchedule schedule = new PollSchedule(INITIAL, MAX, 2);
+        // When
+        Duration delay = schedule.nextDelay(Duration.ofSeconds(10), 1);
+        // Then
+        assertThat(delay).isEqualTo(INITIAL);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crowdin.client.translations.model.CrowdinTranslationCreateProjectBuildForm;
+import com.crowdin.client.translations.model.ProjectBuild;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link ProjectBuilds}. */
+class ProjectBuildsUnitTest {
+
+    private static final Date LAST_ACTIVITY = new Date(10_000);
+
+    private CrowdinTranslationCreateProjectBuildForm options;
+
+    @BeforeEach
+    void setUp() {
+        options = new CrowdinTranslationCreateProjectBuildForm();
+        options.setTargetLanguageIds(List.of("fr", "de"));
+        options.setSkipUntranslatedStrings(false);
+        options.setSkipUntranslatedFiles(true);
+        options.setExportApprovedOnly(false);
+    }
+
+    @Test
+    void shouldFindLatestCurrentBuild() {
+        // Given
+        ProjectBuild older = build(1, "finished", 11_000);
+        ProjectBuild latest = build(2, "finished", 12_000);
+        // When
+        Optional<ProjectBuild> build =
+                ProjectBuilds.findCurrent(List.of(older, latest), options, LAST_ACTIVITY);
+        // Then
+        assertThat(build.get().getId()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotFindBuildCreatedBeforeLastActivity() {
+        // Given
+        ProjectBuild build = build(1, "finished", 9_000);
+        // When
+        Optional<ProjectBuild> current =
+                ProjectBuilds.findCurrent(List.of(build), options, LAST_ACTIVITY);
+        // Then
+        assertThat(current.isPresent()).isFalse();
+    }
+
+    @Test
+    void shouldNotFindBuildNotFinished() {
+        // Given
+        ProjectBuild build = build(1, "inProgress", 11_000);
+        // When
+        Optional<ProjectBuild> current =
+                ProjectBuilds.findCurrent(List.of(build), options, LAST_ACTIVITY);
+        // Then
+        assertThat(current.isPresent()).isFalse();
+    }
+
+    @Test
+    void shouldNotFindBuildWithDifferentOptions() {
+        // Given
+        ProjectBuild build = build(1, "finished", 11_000);
+        build.getAttributes().setExportApprovedOnly(true);
+        // When
+        Optional<ProjectBuild> current =
+                ProjectBuilds.findCurrent(List.of(build), options, LAST_ACTIVITY);
+        // Then
+        assertThat(current.isPresent()).isFalse();
+    }
+
+    @Test
+    void shouldNotFindBuildWithDifferentLanguages() {
+        // Given
+        ProjectBuild build = build(1, "finished", 11_000);
+        build.getAttributes().setTargetLanguageIds(List.of("fr"));
+        // When
+        Optional<ProjectBuild> current =
+                ProjectBuilds.findCurrent(List.of(build), options, LAST_ACTIVITY);
+        // Then
+        assertThat(current.isPresent()).isFalse();
+    }
+
+    @Test
+    void shouldFindBuildWithSameLanguagesInDifferentOrder() {
+        // Given
+        ProjectBuild build = build(1, "finished", 11_000);
+        build.getAttributes().setTargetLanguageIds(List.of("de", "fr"));
+        // When
+        Optional<ProjectBuild> current =
+                ProjectBuilds.findCurrent(List.of(build), options, LAST_ACTIVITY);
+        // Then
+        assertThat(current.isPresent()).isTrue();
+    }
+
+    @Test
+    void shouldNotFindBuildIfLastActivityUnknown() {
+        // Given
+        ProjectBuild build = build(1, "finished", 11_000);
+        // When
+        Optional<ProjectBuild> current = ProjectBuilds.findCurrent(List.of(build), options, null);
+        // Then
+        assertThat(current.isPresent()).isFalse();
+    }
+
+    private static ProjectBuild build(long id, String status, long createdAt) {
+        ProjectBuild.Attributes attributes = new ProjectBuild.Attributes();
+        attributes.setTargetLanguageIds(List.of("fr", "de"));
+        attributes.setSkipUntranslatedStrings(false);
+        attributes.setSkipUntranslatedFiles(true);
+        attributes.setExportApprovedOnly(false);
+
+        ProjectBuild build = new ProjectBuild();
+        build.setId(id);
+        build.setStatus(status);
+        build.setCreatedAt(new Date(createdAt));
+        build.setAttributes(attributes);
+        return build;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link RequestCoalescer}. */
+class RequestCoalescerUnitTest {
+
+    private AtomicInteger requests;
+    private RequestCoalescer<String, Long> coalescer;
+
+    @BeforeEach
+    void setUp() {
+        requests = new AtomicInteger();
+        coalescer = new RequestCoalescer<>();
+    }
+
+    @Test
+    void shouldDoRequestNotYetDone() {
+        // Given
+        String key = "/dir";
+        // When
+        CompletableFuture<Long> result = coalescer.get(key, this::request);
+        // Then
+        assertThat(result.join()).isEqualTo(1);
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(coalescer.getShared()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldShareInFlightRequest() {
+        // Given
+        CompletableFuture<Long> inFlight = new CompletableFuture<>();
+        CompletableFuture<Long> first = coalescer.get("/dir", key -> inFlight);
+        // When
+        CompletableFuture<Long> second = coalescer.get("/dir", this::request);
+        inFlight.complete(5L);
+        // Then
+        assertThat(first.join()).isEqualTo(5);
+        assertThat(second.join()).isEqualTo(5);
+        assertThat(requests.get()).isEqualTo(0);
+        assertThat(coalescer.getShared()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotShareRequestsWithDifferentKeys() {
+        // Given
+        coalescer.get("/dir", this::request);
+        // When
+        CompletableFuture<Long> result = coalescer.get("/other", this::request);
+        // Then
+        assertThat(result.join()).isEqualTo(2);
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldAllowRecursiveRequests() {
+        // Given
+        String key = "/dir/subdir";
+        // When
+        CompletableFuture<Long> result =
+                coalescer.get(
+                        key,
+                        k -> coalescer.get("/dir", this::request).thenCompose(id -> request(k)));
+        // Then
+        assertThat(result.join()).isEqualTo(2);
+        assertThat(coalescer.get("/dir", this::request).join()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShareFailedRequest() {
+        // Given
+        coalescer.get(
+                "/dir",
+                key -> {
+                    throw new IllegalStateException();
+                });
+        // When
+        CompletableFuture<Long> result = coalescer.get("/dir", this::request);
+        // Then
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(requests.get()).isEqualTo(0);
+    }
+
+    private CompletableFuture<Long> request(String key) {
+        return CompletableFuture.completedFuture((long) requests.incrementAndGet());
+    }
+}
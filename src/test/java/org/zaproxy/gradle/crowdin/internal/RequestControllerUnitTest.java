@@ -0,0 +1,369 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link RequestController}, against a local stub server. */
+class RequestControllerUnitTest {
+
+    private HttpServer server;
+    private Deque<Integer> statuses;
+    private AtomicInteger requests;
+    private String retryAfter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        statuses = new ArrayDeque<>();
+        requests = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(
+                "/",
+                exchange -> {
+                    requests.incrementAndGet();
+                    Integer status;
+                    synchronized (statuses) {
+                        status = statuses.poll();
+                    }
+                    if (status == null) {
+                        status = 200;
+                    }
+                    if (status == 429 && retryAfter != null) {
+                        exchange.getResponseHeaders().add("Retry-After", retryAfter);
+                    }
+                    byte[] body = "OK".getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(status, body.length);
+                    exchange.getResponseBody().write(body);
+                    exchange.close();
+                });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldReturnResultOfSuccessfulRequest() {
+        // Given
+        RequestController controller = createController(4, 3);
+        // When
+        String result = controller.execute(this::request, false);
+        // Then
+        assertThat(result).isEqualTo("OK");
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(controller.getRetries()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldRetryThrottledRequestEvenIfNotIdempotent() {
+        // Given
+        RequestController controller = createController(4, 3);
+        statuses.add(429);
+        retryAfter = "0";
+        // When
+        String result = controller.execute(this::request, false);
+        // Then
+        assertThat(result).isEqualTo("OK");
+        assertThat(requests.get()).isEqualTo(2);
+        assertThat(controller.getRetries()).isEqualTo(1);
+        assertThat(controller.getThrottles()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDecreaseLimitWhenThrottled() {
+        // Given
+        RequestController controller = createController(8, 5);
+        statuses.add(429);
+        statuses.add(429);
+        // When
+        controller.execute(this::request, true);
+        // Then
+        assertThat(controller.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldIncreaseLimitAdditivelyAfterThrottling() {
+        // Given
+        RequestController controller = createController(8, 5);
+        statuses.add(429);
+        controller.execute(this::request, true);
+        int limit = controller.getLimit();
+        // When
+        for (int i = 0; i < 10; i++) {
+            controller.execute(() -> "", true);
+        }
+        // Then
+        assertThat(controller.getLimit()).isGreaterThan(limit);
+    }
+
+    @Test
+    void shouldDecreaseLimitWhenRequestsSlowerThanBaseline() {
+        // Given
+        RequestController controller = createController(4, 3);
+        controller.execute(() -> sleep(2), true);
+        // When
+        controller.execute(() -> sleep(50), true);
+        // Then
+        assertThat(controller.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotDecreaseLimitForSlowRequestsOfOtherClass() {
+        // Given
+        RequestController controller = createController(4, 3);
+        for (int i = 0; i < 3; i++) {
+            controller.execute("list", () -> sleep(2), true);
+        }
+        // When
+        for (int i = 0; i < 10; i++) {
+            controller.execute("list", () -> sleep(2), true);
+            controller.execute("upload", () -> sleep(30), true);
+            controller.execute("upload", () -> sleep(30), true);
+        }
+        // Then
+        assertThat(controller.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldNotUseLatencyOfRequestsWithoutClass() {
+        // Given
+        RequestController controller = createController(4, 3);
+        controller.execute(() -> sleep(2), true);
+        // When
+        for (int i = 0; i < 10; i++) {
+            controller.execute(null, () -> sleep(30), true);
+        }
+        // Then
+        assertThat(controller.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldAdaptBaselineToSustainedLatency() {
+        // Given
+        RequestController controller = createController(4, 3);
+        for (int i = 0; i < 3; i++) {
+            controller.execute(() -> sleep(1), true);
+        }
+        // When
+        for (int i = 0; i < 30; i++) {
+            controller.execute(() -> sleep(20), true);
+        }
+        // Then
+        assertThat(controller.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldHonourRetryAfter() {
+        // Given
+        RequestController controller = createController(4, 3);
+        statuses.add(429);
+        retryAfter = "1";
+        long start = System.nanoTime();
+        // When
+        controller.execute(this::request, false);
+        // Then
+        assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis())
+                .isGreaterThanOrEqualTo(1000L);
+    }
+
+    @Test
+    void shouldRetryTransientFailureOfIdempotentRequest() {
+        // Given
+        RequestController controller = createController(4, 3);
+        statuses.add(503);
+        statuses.add(502);
+        // When
+        String result = controller.execute(this::request, true);
+        // Then
+        assertThat(result).isEqualTo("OK");
+        assertThat(requests.get()).isEqualTo(3);
+        assertThat(controller.getRetries()).isEqualTo(2);
+        assertThat(controller.getThrottles()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldNotRetryTransientFailureOfNonIdempotentRequest() {
+        // Given
+        RequestController controller = createController(4, 3);
+        statuses.add(503);
+        // When
+        StatusException e =
+                assertThrows(StatusException.class, () -> controller.execute(this::request, false));
+        // Then
+        assertThat(e.status).isEqualTo(503);
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRetryPermanentFailure() {
+        // Given
+        RequestController controller = createController(4, 3);
+        statuses.add(404);
+        // When
+        StatusException e =
+                assertThrows(StatusException.class, () -> controller.execute(this::request, true));
+        // Then
+        assertThat(e.status).isEqualTo(404);
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStopRetryingAfterMaxAttempts() {
+        // Given
+        RequestController controller = createController(4, 3);
+        for (int i = 0; i < 5; i++) {
+            statuses.add(500);
+        }
+        // When
+        StatusException e =
+                assertThrows(StatusException.class, () -> controller.execute(this::request, true));
+        // Then
+        assertThat(e.status).isEqualTo(500);
+        assertThat(requests.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPermitRequestsOfManyMoreVirtualThreadsThanCarriers() throws Exception {
+        // Given
+        RequestController controller = createController(2, 1);
+        int callers = Runtime.getRuntime().availableProcessors() * 50;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService executor = ApiExecutors.create(callers, true);
+        List<Future<?>> futures = new ArrayList<>();
+        // When
+        try {
+            for (int i = 0; i < callers; i++) {
+                futures.add(
+                        executor.submit(
+                                () ->
+                                        controller.execute(
+                                                null,
+                                                () -> {
+                                                    maxRunning.accumulateAndGet(
+                                                            running.incrementAndGet(), Math::max);
+                                                    sleep(1);
+                                                    running.decrementAndGet();
+                                                    return "";
+                                                },
+                                                true)));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // Then
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    private static RequestController createController(int maxLimit, int maxAttempts) {
+        return new RequestController(
+                maxLimit,
+                maxAttempts,
+                Duration.ofMillis(1),
+                Duration.ofMillis(5),
+                RequestControllerUnitTest::classify);
+    }
+
+    private static RequestController.Failure classify(RuntimeException e) {
+        if (!(e instanceof StatusException)) {
+            return RequestController.Failure.permanent();
+        }
+        StatusException statusException = (StatusException) e;
+        if (statusException.status == 429) {
+            Duration retryAfter =
+                    statusException.retryAfter == null
+                            ? null
+                            : Duration.ofSeconds(Long.parseLong(statusException.retryAfter));
+            return RequestController.Failure.throttled(retryAfter);
+        }
+        if (statusException.status >= 500) {
+            return RequestController.Failure.transientFailure();
+        }
+        return RequestController.Failure.permanent();
+    }
+
+    private static String sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "";
+    }
+
+    private String request() {
+        try {
+            URL url = URI.create("http://localhost:" + server.getAddress().getPort()).toURL();
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            int status = connection.getResponseCode();
+            if (status != 200) {
+                throw new StatusException(status, connection.getHeaderField("Retry-After"));
+            }
+            try (InputStream is = connection.getInputStream()) {
+                return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class StatusException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+        private final String retryAfter;
+
+        StatusException(int status, String retryAfter) {
+            super("Status: " + status);
+            this.status = status;
+            this.retryAfter = retryAfter;
+        }
+    }
+}
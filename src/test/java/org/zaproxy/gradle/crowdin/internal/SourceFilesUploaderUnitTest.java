@@ -0,0 +1,351 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crowdin.client.sourcefiles.model.Directory;
+import com.crowdin.client.sourcefiles.model.FileInfo;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinConfiguration;
+import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
+import org.zaproxy.gradle.crowdin.internal.local.LocalFile;
+import org.zaproxy.gradle.crowdin.internal.local.LocalFileIndex;
+import org.zaproxy.gradle.crowdin.internal.local.LocalVfs;
+import org.zaproxy.gradle.crowdin.internal.remote.RemoteItem;
+import org.zaproxy.gradle.crowdin.internal.remote.RemoteVfs;
+
+/** Unit test for {@link SourceFilesUploader}. */
+class SourceFilesUploaderUnitTest {
+
+    private static final long PROJECT_ID = 123;
+    private static final long DATA_DIR_ID = 10;
+
+    @TempDir Path dir;
+
+    private Path sourceDir;
+    private CrowdinProject project;
+    private List<Directory> remoteDirs;
+    private List<FileInfo> remoteFiles;
+    private UploadedFiles uploadedFiles;
+    private FakeApiClient api;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sourceDir = Files.createDirectories(dir.resolve("src"));
+        project =
+                CrowdinConfiguration.from(
+                                getResource("source-files-uploader.yml"), Collections.emptyMap())
+                        .getProjects()
+                        .get(0);
+        remoteDirs = new ArrayList<>();
+        remoteFiles = new ArrayList<>();
+        uploadedFiles = UploadedFiles.inMemory();
+        api = new FakeApiClient();
+        remoteDirs.add(directory(DATA_DIR_ID, null, "data"));
+    }
+
+    @Test
+    void shouldMoveRenamedFile() throws Exception {
+        // Given
+        createFile("B.properties", "content");
+        remoteFiles.add(file(1, DATA_DIR_ID, "A.properties", "properties"));
+        record(1, "content", "/data/B_%two_letters_code%.properties");
+        // When
+        SourceFilesUploader uploader = upload();
+        // Then
+        assertThat(api.moved).isEqualTo(List.of("1 -> 10/B.properties"));
+        assertThat(api.created).isEmpty();
+        assertThat(api.updated).isEmpty();
+        assertThat(api.removed).isEmpty();
+        assertThat(uploader.getFilesMoved()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMoveFileAcrossDirectories() throws Exception {
+        // Given
+        createFile("x/A.properties", "content");
+        remoteFiles.add(file(1, DATA_DIR_ID, "A.properties", "properties"));
+        record(1, "content", "/data/A_%two_letters_code%.properties");
+        // When
+        upload();
+        // Then
+        assertThat(api.createdDirs).isEqualTo(List.of("10/x"));
+        assertThat(api.moved).isEqualTo(List.of("1 -> 100/A.properties"));
+        assertThat(api.created).isEmpty();
+        assertThat(api.updated).isEmpty();
+        assertThat(api.removed).isEmpty();
+    }
+
+    @Test
+    void shouldMoveRemovedFilesWithSameDigestJustOnce() throws Exception {
+        // Given
+        createFile("C.properties", "content");
+        createFile("D.properties", "content");
+        createFile("E.properties", "content");
+        remoteFiles.add(file(1, DATA_DIR_ID, "A.properties", "properties"));
+        remoteFiles.add(file(2, DATA_DIR_ID, "B.properties", "properties"));
+        record(1, "content", "");
+        record(2, "content", "");
+        // When
+        upload();
+        // Then
+        assertThat(api.moved).hasSize(2);
+        assertThat(
+                        api.moved.stream()
+                                .map(move -> move.substring(0, 1))
+                                .sorted()
+                                .collect(Collectors.toList()))
+                .isEqualTo(List.of("1", "2"));
+        assertThat(api.created).hasSize(1);
+        assertThat(api.removed).isEmpty();
+    }
+
+    @Test
+    void shouldNotMoveFileOfDifferentType() throws Exception {
+        // Given
+        createFile("B.properties", "content");
+        remoteFiles.add(file(1, DATA_DIR_ID, "A.properties", "xml"));
+        record(1, "content", "/data/B_%two_letters_code%.properties");
+        // When
+        SourceFilesUploader uploader = upload();
+        // Then
+        assertThat(api.moved).isEmpty();
+        assertThat(api.created).isEqualTo(List.of("10/B.properties"));
+        assertThat(api.removed).isEqualTo(List.of("1"));
+        assertThat(uploader.getFilesMoved()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldMoveFileWithoutTypeIfSameExtension() throws Exception {
+        // Given
+        createFile("B.txt", "content");
+        remoteFiles.add(file(1, DATA_DIR_ID, "A.TXT", "txt"));
+        record(1, "content", "/data/B_%two_letters_code%.txt");
+        // When
+        upload();
+        // Then
+        assertThat(api.moved).isEqualTo(List.of("1 -> 10/B.txt"));
+        assertThat(api.created).isEmpty();
+        assertThat(api.removed).isEmpty();
+    }
+
+    @Test
+    void shouldNotMoveFileWithoutTypeIfDifferentExtension() throws Exception {
+        // Given
+        createFile("B.txt", "content");
+        remoteFiles.add(file(1, DATA_DIR_ID, "A.xml", "android"));
+        record(1, "content", "/data/B_%two_letters_code%.txt");
+        // When
+        upload();
+        // Then
+        assertThat(api.moved).isEmpty();
+        assertThat(api.created).isEqualTo(List.of("10/B.txt"));
+        assertThat(api.removed).isEqualTo(List.of("1"));
+    }
+
+    @Test
+    void shouldNotMoveFileWithDifferentContent() throws Exception {
+        // Given
+        createFile("B.properties", "new content");
+        remoteFiles.add(file(1, DATA_DIR_ID, "A.properties", "properties"));
+        record(1, "content", "/data/B_%two_letters_code%.properties");
+        // When
+        upload();
+        // Then
+        assertThat(api.moved).isEmpty();
+        assertThat(api.created).isEqualTo(List.of("10/B.properties"));
+        assertThat(api.removed).isEqualTo(List.of("1"));
+    }
+
+    @Test
+    void shouldUpdateMovedFileIfExportPatternChanged() throws Exception {
+        // Given
+        createFile("B.properties", "content");
+        remoteFiles.add(file(1, DATA_DIR_ID, "A.properties", "properties"));
+        record(1, "content", "/data/A_%two_letters_code%.properties");
+        // When
+        SourceFilesUploader uploader = upload();
+        // Then
+        assertThat(api.moved).isEqualTo(List.of("1 -> 10/B.properties"));
+        assertThat(api.updated).isEqualTo(List.of("1"));
+        assertThat(uploadedFiles.get(PROJECT_ID, 1).getExportPattern())
+                .isEqualTo("/data/B_%two_letters_code%.properties");
+        assertThat(uploader.getFilesMoved()).isEqualTo(1);
+        assertThat(uploader.getFilesUpdated()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRemoveJustTopMostDirectoryOfNestedRemovals() throws Exception {
+        // Given
+        createFile("A.properties", "content");
+        remoteFiles.add(file(1, DATA_DIR_ID, "A.properties", "properties"));
+        remoteDirs.add(directory(11, DATA_DIR_ID, "x"));
+        remoteDirs.add(directory(12, 11L, "y"));
+        remoteFiles.add(file(2, 11L, "B.properties", "properties"));
+        remoteFiles.add(file(3, 12L, "C.properties", "properties"));
+        // When
+        SourceFilesUploader uploader = upload();
+        // Then
+        assertThat(api.removed).isEqualTo(List.of("11"));
+        assertThat(uploader.getItemsRemoved()).isEqualTo(4);
+        assertThat(uploader.getRemovalsSaved()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRemoveFilesOfDirectoryNotRemoved() throws Exception {
+        // Given
+        createFile("x/A.properties", "content");
+        remoteDirs.add(directory(11, DATA_DIR_ID, "x"));
+        remoteFiles.add(file(1, 11L, "A.properties", "properties"));
+        remoteFiles.add(file(2, 11L, "B.properties", "properties"));
+        remoteFiles.add(file(3, 11L, "C.properties", "properties"));
+        // When
+        SourceFilesUploader uploader = upload();
+        // Then
+        assertThat(sorted(api.removed)).isEqualTo(List.of("2", "3"));
+        assertThat(uploader.getRemovalsSaved()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldNotPruneRemovalsInSiblingDirectoryWithSameNamePrefix() throws Exception {
+        // Given
+        createFile("ab/A.properties", "content");
+        remoteDirs.add(directory(11, DATA_DIR_ID, "a"));
+        remoteFiles.add(file(1, 11L, "A.properties", "properties"));
+        remoteDirs.add(directory(12, DATA_DIR_ID, "ab"));
+        remoteFiles.add(file(2, 12L, "A.properties", "properties"));
+        remoteFiles.add(file(3, 12L, "B.properties", "properties"));
+        // When
+        SourceFilesUploader uploader = upload();
+        // Then
+        assertThat(sorted(api.removed)).isEqualTo(List.of("11", "3"));
+        assertThat(uploader.getItemsRemoved()).isEqualTo(3);
+        assertThat(uploader.getRemovalsSaved()).isEqualTo(1);
+    }
+
+    private SourceFilesUploader upload() throws IOException {
+        LocalVfs localVfs = new LocalVfs(dir, project, new SimpleLogger() {});
+        RemoteVfs remoteVfs = new RemoteVfs(remoteDirs, remoteFiles);
+        SourceFilesUploader uploader =
+                new SourceFilesUploader(
+                        AsyncApiClient.direct(api),
+                        project,
+                        localVfs,
+                        remoteVfs,
+                        file -> false,
+                        uploadedFiles,
+                        UploadJournal.inMemory());
+        uploader.upload();
+        return uploader;
+    }
+
+    private void createFile(String path, String content) throws IOException {
+        Path file = sourceDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void record(long fileId, String content, String exportPattern) throws IOException {
+        Path file = dir.resolve("digest");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        String digest = LocalFileIndex.inMemory().getDigest(file);
+        Files.delete(file);
+        uploadedFiles.put(PROJECT_ID, fileId, digest, exportPattern);
+    }
+
+    private static List<String> sorted(List<String> values) {
+        return values.stream().sorted().collect(Collectors.toList());
+    }
+
+    private static Directory directory(long id, Long parentId, String name) {
+        Directory directory = new Directory();
+        directory.setId(id);
+        directory.setDirectoryId(parentId);
+        directory.setName(name);
+        return directory;
+    }
+
+    private static FileInfo file(long id, Long parentId, String name, String type) {
+        FileInfo file = new FileInfo();
+        file.setId(id);
+        file.setDirectoryId(parentId);
+        file.setName(name);
+        file.setType(type);
+        return file;
+    }
+
+    private static Path getResource(String resourcePath) throws URISyntaxException {
+        return Paths.get(SourceFilesUploaderUnitTest.class.getResource(resourcePath).toURI());
+    }
+
+    /** Records the requests, the IDs of the items created start at 100. */
+    private static class FakeApiClient implements ApiClient {
+
+        private final List<String> createdDirs = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> created = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> updated = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> moved = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> removed = Collections.synchronizedList(new ArrayList<>());
+        private long nextId = 100;
+
+        @Override
+        public synchronized Directory createDirectory(long projectId, Long parentId, String name) {
+            createdDirs.add(parentId + "/" + name);
+            return directory(nextId++, parentId, name);
+        }
+
+        @Override
+        public synchronized FileInfo createFile(
+                long projectId, Long parentId, LocalFile localFile) {
+            created.add(parentId + "/" + localFile.getName());
+            return file(nextId++, parentId, localFile.getName(), localFile.getType());
+        }
+
+        @Override
+        public FileInfo updateFile(long projectId, long fileId, LocalFile localFile) {
+            updated.add(String.valueOf(fileId));
+            return file(fileId, null, localFile.getName(), localFile.getType());
+        }
+
+        @Override
+        public FileInfo moveFile(long projectId, long fileId, Long parentId, String name) {
+            moved.add(fileId + " -> " + parentId + "/" + name);
+            return file(fileId, parentId, name, null);
+        }
+
+        @Override
+        public void removeItem(long projectId, RemoteItem item) {
+            removed.add(String.valueOf(item.getId()));
+        }
+    }
+}
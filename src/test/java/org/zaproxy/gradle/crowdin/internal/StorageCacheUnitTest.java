@@ -0,0 +1,131 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link StorageCache}. */
+class StorageCacheUnitTest {
+
+    private AtomicLong storageIds;
+    private StorageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        storageIds = new AtomicLong();
+        cache = new StorageCache();
+    }
+
+    @Test
+    void shouldUploadContentNotYetUploaded() {
+        // Given
+        String digest = "abc";
+        // When
+        long id = cache.getStorageId(digest, "file.properties", storageIds::incrementAndGet);
+        // Then
+        assertThat(id).isEqualTo(1);
+        assertThat(cache.getUploads()).isEqualTo(1);
+        assertThat(cache.getReuses()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldReuseStorageWithSameContentAndExtension() {
+        // Given
+        cache.getStorageId("abc", "file.properties", storageIds::incrementAndGet);
+        // When
+        long id = cache.getStorageId("abc", "other.properties", storageIds::incrementAndGet);
+        // Then
+        assertThat(id).isEqualTo(1);
+        assertThat(cache.getUploads()).isEqualTo(1);
+        assertThat(cache.getReuses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotReuseStorageWithDifferentContent() {
+        // Given
+        cache.getStorageId("abc", "file.properties", storageIds::incrementAndGet);
+        // When
+        long id = cache.getStorageId("def", "file.properties", storageIds::incrementAndGet);
+        // Then
+        assertThat(id).isEqualTo(2);
+        assertThat(cache.getUploads()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotReuseStorageWithDifferentExtension() {
+        // Given
+        cache.getStorageId("abc", "file.properties", storageIds::incrementAndGet);
+        // When
+        long id = cache.getStorageId("abc", "file.html", storageIds::incrementAndGet);
+        // Then
+        assertThat(id).isEqualTo(2);
+        assertThat(cache.getUploads()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldUploadAgainAfterFailedUpload() {
+        // Given
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        cache.getStorageId(
+                                "abc",
+                                "file.properties",
+                                () -> {
+                                    throw new IllegalStateException();
+                                }));
+        // When
+        long id = cache.getStorageId("abc", "file.properties", storageIds::incrementAndGet);
+        // Then
+        assertThat(id).isEqualTo(1);
+        assertThat(cache.getUploads()).isEqualTo(1);
+        assertThat(cache.getReuses()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldReuseStorageFromJournal() {
+        // Given
+        UploadJournal journal = UploadJournal.inMemory();
+        journal.storageAdded("abc", ".properties", 10);
+        cache = new StorageCache(journal);
+        // When
+        long id = cache.getStorageId("abc", "file.properties", storageIds::incrementAndGet);
+        // Then
+        assertThat(id).isEqualTo(10);
+        assertThat(cache.getUploads()).isEqualTo(0);
+        assertThat(cache.getReuses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordStorageInJournal() {
+        // Given
+        UploadJournal journal = UploadJournal.inMemory();
+        cache = new StorageCache(journal);
+        // When
+        cache.getStorageId("abc", "file.properties", storageIds::incrementAndGet);
+        // Then
+        assertThat(journal.getStorageId("abc", ".properties")).isEqualTo(1);
+    }
+}
@@ -135,4 +135,59 @@ class TokenReplacerUnitTest {
         assertThat(result1).isEqualTo("1 $newToken1 $newToken2");
         assertThat(result2).isEqualTo("$oldToken A B");
     }
+
+    @Test
+    void shouldReplaceTokensAtStartAndEnd() {
+        // Given
+        Map<String, String> tokens = new HashMap<>();
+        tokens.put("$token1", "A");
+        tokens.put("$token2", "B");
+        TokenReplacer replacer = new TokenReplacer(tokens);
+        String value = "$token1-$token2";
+        // When
+        String result = replacer.replace(value);
+        // Then
+        assertThat(result).isEqualTo("A-B");
+    }
+
+    @Test
+    void shouldReplaceLongestTokenIfSharingPrefix() {
+        // Given
+        Map<String, String> tokens = new HashMap<>();
+        tokens.put("$token", "A");
+        tokens.put("$token1", "B");
+        TokenReplacer replacer = new TokenReplacer(tokens);
+        String value = "$token $token1 $token2";
+        // When
+        String result = replacer.replace(value);
+        // Then
+        assertThat(result).isEqualTo("A B A2");
+    }
+
+    @Test
+    void shouldNotReplaceTokensPresentInValues() {
+        // Given
+        Map<String, String> tokens = new HashMap<>();
+        tokens.put("$token1", "$token2");
+        tokens.put("$token2", "B");
+        TokenReplacer replacer = new TokenReplacer(tokens);
+        String value = "$token1 $token2";
+        // When
+        String result = replacer.replace(value);
+        // Then
+        assertThat(result).isEqualTo("$token2 B");
+    }
+
+    @Test
+    void shouldReturnSameValueIfNoTokensPresent() {
+        // Given
+        Map<String, String> tokens = new HashMap<>();
+        tokens.put("$token1", "A");
+        TokenReplacer replacer = new TokenReplacer(tokens);
+        String value = "$token no tokens $";
+        // When
+        String result = replacer.replace(value);
+        // Then
+        assertThat(result).isSameAs(value);
+    }
 }
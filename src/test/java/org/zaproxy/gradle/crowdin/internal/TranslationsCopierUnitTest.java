@@ -0,0 +1,366 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinConfiguration;
+import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
+
+/** Unit test for {@link TranslationsCopier}. */
+class TranslationsCopierUnitTest {
+
+    private static final FileTime OLD_TIME = FileTime.fromMillis(946684800000L);
+
+    @TempDir Path dir;
+
+    private CrowdinProject project;
+    private Path packagesDir;
+    private Path baseDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        project =
+                CrowdinConfiguration.from(
+                                getResource("translations-copier.yml"), Collections.emptyMap())
+                        .getProjects()
+                        .get(0);
+        packagesDir = Files.createDirectories(dir.resolve("packages"));
+        baseDir = Files.createDirectories(dir.resolve("project"));
+    }
+
+    @Test
+    void shouldCopyTranslationsToOutputDirsOfSources() throws Exception {
+        // Given
+        createPackage(
+                "123.zip",
+                "a/export/de/Messages_de.properties",
+                "b/fr/Messages_fr.properties",
+                "c/Messages_it.properties");
+        TranslationsCopier copier = createCopier(e -> true);
+        // When
+        copier.copy(project, baseDir);
+        // Then
+        assertThat(baseDir.resolve("out/a/de/Messages_de.properties"))
+                .hasContent("a/export/de/Messages_de.properties");
+        assertThat(baseDir.resolve("b/fr/Messages_fr.properties"))
+                .hasContent("b/fr/Messages_fr.properties");
+        assertThat(baseDir.resolve("c")).doesNotExist();
+    }
+
+    @Test
+    void shouldCopyTranslationsOfAllPackagesOfProject() throws Exception {
+        // Given
+        createPackage("123-1.zip", "a/export/de/Messages_de.properties");
+        createPackage("123-2.zip", "a/export/fr/Messages_fr.properties");
+        TranslationsCopier copier = createCopier(e -> true);
+        // When
+        copier.copy(project, baseDir);
+        // Then
+        assertThat(baseDir.resolve("out/a/de/Messages_de.properties")).exists();
+        assertThat(baseDir.resolve("out/a/fr/Messages_fr.properties")).exists();
+    }
+
+    @Test
+    void shouldCopyAllTranslationsConcurrently() throws Exception {
+        // Given
+        String[] entries = new String[200];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = "a/export/l" + (i % 10) + "/Messages_" + i + ".properties";
+        }
+        createPackage("123.zip", entries);
+        TranslationsCopier copier =
+                new TranslationsCopier(packagesDir, new SimpleLogger() {}, e -> true, 4);
+        // When
+        copier.copy(project, baseDir);
+        // Then
+        for (int i = 0; i < entries.length; i++) {
+            assertThat(baseDir.resolve("out/a/l" + (i % 10) + "/Messages_" + i + ".properties"))
+                    .hasContent(entries[i]);
+        }
+    }
+
+    @Test
+    void shouldCopyLastTranslationIfOutputDirsOverlap() throws Exception {
+        // Given
+        CrowdinProject overlappingProject =
+                CrowdinConfiguration.from(
+                                getResource("translations-copier.yml"), Collections.emptyMap())
+                        .getProjects()
+                        .get(1);
+        String[] entries = new String[100];
+        for (int i = 0; i < entries.length; i++) {
+            // The entries of the last source are first for the second half of the files.
+            boolean lastSourceFirst = i >= entries.length / 2;
+            entries[i] =
+                    ((i % 2 == 0) != lastSourceFirst ? "x" : "z")
+                            + "/l"
+                            + (i / 2)
+                            + "/Messages.properties";
+        }
+        createPackage("456.zip", entries);
+        TranslationsCopier copier =
+                new TranslationsCopier(packagesDir, new SimpleLogger() {}, e -> true, 4);
+        // When
+        copier.copy(overlappingProject, baseDir);
+        // Then
+        for (int i = 0; i < entries.length / 2; i++) {
+            assertThat(baseDir.resolve("out/l" + i + "/Messages.properties"))
+                    .hasContent("z/l" + i + "/Messages.properties");
+        }
+    }
+
+    @Test
+    void shouldReportAllFailuresAndCopyOtherTranslations() throws Exception {
+        // Given
+        createPackage(
+                "123.zip",
+                "a/export/de/Messages_de.properties",
+                "a/export/es/Messages_es.properties",
+                "a/export/fr/Messages_fr.properties",
+                "a/export/it/Messages_it.properties");
+        Files.createDirectories(baseDir.resolve("out/a/de/Messages_de.properties/dir"));
+        Files.createDirectories(baseDir.resolve("out/a"));
+        Files.createFile(baseDir.resolve("out/a/fr"));
+        TranslationsCopier copier = createCopier(e -> true);
+        // When
+        CrowdinException exception =
+                assertThrows(CrowdinException.class, () -> copier.copy(project, baseDir));
+        // Then
+        assertThat(exception.getSuppressed().length).isEqualTo(2);
+        assertThat(baseDir.resolve("out/a/es/Messages_es.properties")).exists();
+        assertThat(baseDir.resolve("out/a/it/Messages_it.properties")).exists();
+    }
+
+    @Test
+    void shouldNotWriteUnchangedTranslations() throws Exception {
+        // Given
+        createPackage("123.zip", "a/export/de/Messages_de.properties");
+        Path file = baseDir.resolve("out/a/de/Messages_de.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "a/export/de/Messages_de.properties".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, OLD_TIME);
+        TranslationsCopier copier = createCopier(e -> true);
+        // When
+        copier.copy(project, baseDir);
+        // Then
+        assertThat(Files.getLastModifiedTime(file)).isEqualTo(OLD_TIME);
+    }
+
+    @Test
+    void shouldWriteChangedTranslations() throws Exception {
+        // Given
+        createPackage("123.zip", "a/export/de/Messages_de.properties");
+        Path file = baseDir.resolve("out/a/de/Messages_de.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "a/export/de/Messages_xx.properties".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, OLD_TIME);
+        TranslationsCopier copier = createCopier(e -> true);
+        // When
+        copier.copy(project, baseDir);
+        // Then
+        assertThat(file).hasContent("a/export/de/Messages_de.properties");
+        assertThat(Files.getLastModifiedTime(file)).isNotEqualTo(OLD_TIME);
+    }
+
+    @Test
+    void shouldExtractTranslationsToOutputDirsOfSources() throws Exception {
+        // Given
+        byte[] translationsPackage =
+                createZip(
+                        "a/export/de/Messages_de.properties",
+                        "b/fr/Messages_fr.properties",
+                        "c/Messages_it.properties");
+        TranslationsCopier copier = createCopier(e -> true);
+        // When
+        try (InputStream in = new ByteArrayInputStream(translationsPackage)) {
+            copier.extract(project, in, baseDir);
+        }
+        // Then
+        assertThat(baseDir.resolve("out/a/de/Messages_de.properties"))
+                .hasContent("a/export/de/Messages_de.properties");
+        assertThat(baseDir.resolve("b/fr/Messages_fr.properties"))
+                .hasContent("b/fr/Messages_fr.properties");
+        assertThat(baseDir.resolve("c")).doesNotExist();
+        assertThat(packagesDir.resolve("123.zip")).doesNotExist();
+    }
+
+    @Test
+    void shouldNotExtractFilteredTranslations() throws Exception {
+        // Given
+        byte[] translationsPackage =
+                createZip("a/export/de/Messages_de.properties", "b/fr/Messages_fr.properties");
+        TranslationsCopier copier = createCopier(e -> !e.contains("/fr/"));
+        // When
+        try (InputStream in = new ByteArrayInputStream(translationsPackage)) {
+            copier.extract(project, in, baseDir);
+        }
+        // Then
+        assertThat(baseDir.resolve("out/a/de/Messages_de.properties")).exists();
+        assertThat(baseDir.resolve("b")).doesNotExist();
+    }
+
+    @Test
+    void shouldNotExtractUnchangedTranslations() throws Exception {
+        // Given
+        byte[] translationsPackage =
+                createZip("a/export/de/Messages_de.properties", "b/fr/Messages_fr.properties");
+        Path unchangedFile = baseDir.resolve("out/a/de/Messages_de.properties");
+        Files.createDirectories(unchangedFile.getParent());
+        Files.write(
+                unchangedFile,
+                "a/export/de/Messages_de.properties".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(unchangedFile, OLD_TIME);
+        TranslationsCopier copier = createCopier(e -> true);
+        // When
+        try (InputStream in = new ByteArrayInputStream(translationsPackage)) {
+            copier.extract(project, in, baseDir);
+        }
+        // Then
+        assertThat(Files.getLastModifiedTime(unchangedFile)).isEqualTo(OLD_TIME);
+        assertThat(baseDir.resolve("b/fr/Messages_fr.properties"))
+                .hasContent("b/fr/Messages_fr.properties");
+    }
+
+    @Test
+    void shouldExtractLastTranslationIfOutputDirsOverlap() throws Exception {
+        // Given
+        CrowdinProject overlappingProject =
+                CrowdinConfiguration.from(
+                                getResource("translations-copier.yml"), Collections.emptyMap())
+                        .getProjects()
+                        .get(1);
+        byte[] translationsPackage =
+                createZip(
+                        "x/l0/Messages.properties",
+                        "z/l0/Messages.properties",
+                        "z/l1/Messages.properties",
+                        "x/l1/Messages.properties");
+        TranslationsCopier copier = createCopier(e -> true);
+        // When
+        try (InputStream in = new ByteArrayInputStream(translationsPackage)) {
+            copier.extract(overlappingProject, in, baseDir);
+        }
+        // Then
+        assertThat(baseDir.resolve("out/l0/Messages.properties"))
+                .hasContent("z/l0/Messages.properties");
+        assertThat(baseDir.resolve("out/l1/Messages.properties"))
+                .hasContent("z/l1/Messages.properties");
+    }
+
+    @Test
+    void shouldGetPackageNameOfSingleBuild() {
+        // Given
+        long projectId = 42;
+        // When
+        String name = TranslationsCopier.getPackageName(projectId, 1, 1);
+        // Then
+        assertThat(name).isEqualTo("42.zip");
+    }
+
+    @Test
+    void shouldGetPackageNameOfShard() {
+        // Given
+        long projectId = 42;
+        // When
+        String name = TranslationsCopier.getPackageName(projectId, 2, 3);
+        // Then
+        assertThat(name).isEqualTo("42-2.zip");
+    }
+
+    @Test
+    void shouldFindNoPackagesIfDirDoesNotExist() {
+        // Given
+        Path packagesDir = dir.resolve("missing");
+        // When
+        List<Path> packages = TranslationsCopier.findPackages(packagesDir, 42);
+        // Then
+        assertThat(packages).isEmpty();
+    }
+
+    @Test
+    void shouldFindSinglePackage() throws Exception {
+        // Given
+        Path pkg = Files.createFile(dir.resolve("42.zip"));
+        Files.createFile(dir.resolve("420.zip"));
+        // When
+        List<Path> packages = TranslationsCopier.findPackages(dir, 42);
+        // Then
+        assertThat(packages).isEqualTo(Arrays.asList(pkg));
+    }
+
+    @Test
+    void shouldFindPackagesOfAllShards() throws Exception {
+        // Given
+        Path pkg1 = Files.createFile(dir.resolve("42-1.zip"));
+        Path pkg2 = Files.createFile(dir.resolve("42-2.zip"));
+        Files.createFile(dir.resolve("43-1.zip"));
+        Files.createFile(dir.resolve("42-a.zip"));
+        Files.createDirectory(dir.resolve("42-3.zip"));
+        // When
+        List<Path> packages = TranslationsCopier.findPackages(dir, 42);
+        // Then
+        assertThat(packages).isEqualTo(Arrays.asList(pkg1, pkg2));
+    }
+
+    private TranslationsCopier createCopier(Predicate<String> filter) {
+        return new TranslationsCopier(packagesDir, new SimpleLogger() {}, filter);
+    }
+
+    private void createPackage(String name, String... entries) throws IOException {
+        Files.write(packagesDir.resolve(name), createZip(entries));
+    }
+
+    private static byte[] createZip(String... entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (String entry : entries) {
+                zip.putNextEntry(new ZipEntry(entry));
+                zip.write(entry.getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static Path getResource(String resourcePath) throws URISyntaxException {
+        return Paths.get(TranslationsCopierUnitTest.class.getResource(resourcePath).toURI());
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link UploadJournal}. */
+class UploadJournalUnitTest {
+
+    private static final Duration VALIDITY = Duration.ofHours(1);
+
+    @TempDir Path dir;
+
+    private Path file;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("upload-journal.bin");
+        now = Instant.parse("2026-01-01T10:00:00Z");
+    }
+
+    @Test
+    void shouldOpenEmptyJournalIfFileDoesNotExist() throws IOException {
+        // Given / When
+        UploadJournal journal = open();
+        // Then
+        assertThat(journal.getStorageId("abc", ".properties")).isNull();
+        assertThat(journal.isFileUploaded(1, 2, "abc", "")).isFalse();
+        journal.close();
+    }
+
+    @Test
+    void shouldResumeOperationsOfPreviousUpload() throws IOException {
+        // Given
+        UploadJournal journal = open();
+        journal.storageAdded("abc", ".properties", 10);
+        journal.fileUploaded(1, 2, "abc", "/%locale%/%file_name%");
+        journal.close();
+        // When
+        journal = open();
+        // Then
+        assertThat(journal.getStorageId("abc", ".properties")).isEqualTo(10);
+        assertThat(journal.getStorageId("abc", ".html")).isNull();
+        assertThat(journal.isFileUploaded(1, 2, "abc", "/%locale%/%file_name%")).isTrue();
+        assertThat(journal.isFileUploaded(1, 2, "abc", "")).isFalse();
+        assertThat(journal.isFileUploaded(1, 2, "def", "/%locale%/%file_name%")).isFalse();
+        assertThat(journal.isFileUploaded(3, 2, "abc", "/%locale%/%file_name%")).isFalse();
+        journal.close();
+    }
+
+    @Test
+    void shouldUseLatestUploadOfFile() throws IOException {
+        // Given
+        UploadJournal journal = open();
+        journal.fileUploaded(1, 2, "abc", "");
+        journal.fileUploaded(1, 2, "def", "");
+        journal.close();
+        // When
+        journal = open();
+        // Then
+        assertThat(journal.isFileUploaded(1, 2, "abc", "")).isFalse();
+        assertThat(journal.isFileUploaded(1, 2, "def", "")).isTrue();
+        journal.close();
+    }
+
+    @Test
+    void shouldDiscardOperationsOlderThanValidity() throws IOException {
+        // Given
+        UploadJournal journal = open();
+        journal.storageAdded("abc", ".properties", 10);
+        journal.fileUploaded(1, 2, "abc", "");
+        journal.close();
+        now = now.plus(VALIDITY).plusMillis(1);
+        // When
+        journal = open();
+        // Then
+        assertThat(journal.getStorageId("abc", ".properties")).isNull();
+        assertThat(journal.isFileUploaded(1, 2, "abc", "")).isFalse();
+        journal.close();
+    }
+
+    @Test
+    void shouldKeepCompleteRecordsOfTruncatedJournal() throws IOException {
+        // Given
+        UploadJournal journal = open();
+        journal.fileUploaded(1, 2, "abc", "");
+        journal.fileUploaded(1, 3, "def", "");
+        journal.close();
+        byte[] data = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(data, data.length - 3));
+        // When
+        journal = open();
+        // Then
+        assertThat(journal.isFileUploaded(1, 2, "abc", "")).isTrue();
+        assertThat(journal.isFileUploaded(1, 3, "def", "")).isFalse();
+        journal.close();
+    }
+
+    @Test
+    void shouldDeleteJournal() throws IOException {
+        // Given
+        UploadJournal journal = open();
+        journal.fileUploaded(1, 2, "abc", "");
+        // When
+        journal.delete();
+        // Then
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void shouldWaitForOpenJournalToBeClosed() throws Exception {
+        // Given
+        UploadJournal journal = open();
+        journal.fileUploaded(1, 2, "abc", "");
+        CompletableFuture<UploadJournal> concurrentOpen =
+                CompletableFuture.supplyAsync(this::openUnchecked);
+        Thread.sleep(200);
+        boolean openedBeforeClose = concurrentOpen.isDone();
+        journal.fileUploaded(1, 3, "def", "");
+        // When
+        journal.close();
+        // Then
+        assertThat(openedBeforeClose).isFalse();
+        journal = concurrentOpen.get(5, TimeUnit.SECONDS);
+        assertThat(journal.isFileUploaded(1, 2, "abc", "")).isTrue();
+        assertThat(journal.isFileUploaded(1, 3, "def", "")).isTrue();
+        journal.close();
+    }
+
+    @Test
+    void shouldReleaseLockOfDeletedJournal() throws Exception {
+        // Given
+        UploadJournal journal = open();
+        journal.fileUploaded(1, 2, "abc", "");
+        // When
+        journal.delete();
+        // Then
+        journal = CompletableFuture.supplyAsync(this::openUnchecked).get(5, TimeUnit.SECONDS);
+        assertThat(journal.isFileUploaded(1, 2, "abc", "")).isFalse();
+        journal.close();
+    }
+
+    private UploadJournal openUnchecked() {
+        try {
+            return open();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private UploadJournal open() throws IOException {
+        return UploadJournal.open(file, VALIDITY, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link UploadedFiles}. */
+class UploadedFilesUnitTest {
+
+    @TempDir Path dir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("uploaded-files");
+    }
+
+    @Test
+    void shouldLoadEmptyRecordIfFileDoesNotExist() throws IOException {
+        // Given
+        UploadedFiles uploadedFiles = UploadedFiles.load(file);
+        // When
+        UploadedFiles.Entry entry = uploadedFiles.get(1, 2);
+        // Then
+        assertThat(entry).isNull();
+    }
+
+    @Test
+    void shouldNotSaveIfNotChanged() throws IOException {
+        // Given
+        UploadedFiles uploadedFiles = UploadedFiles.load(file);
+        // When
+        uploadedFiles.save();
+        // Then
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void shouldPutEntry() {
+        // Given
+        UploadedFiles uploadedFiles = UploadedFiles.inMemory();
+        // When
+        uploadedFiles.put(1, 2, "digest", "/pattern");
+        // Then
+        UploadedFiles.Entry entry = uploadedFiles.get(1, 2);
+        assertThat(entry.getDigest()).isEqualTo("digest");
+        assertThat(entry.getExportPattern()).isEqualTo("/pattern");
+        assertThat(uploadedFiles.get(1, 3)).isNull();
+        assertThat(uploadedFiles.get(2, 2)).isNull();
+    }
+
+    @Test
+    void shouldPutEntryWithoutExportPattern() {
+        // Given
+        UploadedFiles uploadedFiles = UploadedFiles.inMemory();
+        // When
+        uploadedFiles.put(1, 2, "digest", null);
+        // Then
+        assertThat(uploadedFiles.get(1, 2).getExportPattern()).isEmpty();
+    }
+
+    @Test
+    void shouldRemoveEntry() {
+        // Given
+        UploadedFiles uploadedFiles = UploadedFiles.inMemory();
+        uploadedFiles.put(1, 2, "digest", "/pattern");
+        // When
+        uploadedFiles.remove(1, 2);
+        // Then
+        assertThat(uploadedFiles.get(1, 2)).isNull();
+    }
+
+    @Test
+    void shouldSaveAndLoadRecord() throws IOException {
+        // Given
+        UploadedFiles uploadedFiles = UploadedFiles.load(file);
+        uploadedFiles.put(1, 2, "digest", "/pattern");
+        // When
+        uploadedFiles.save();
+        // Then
+        UploadedFiles.Entry entry = UploadedFiles.load(file).get(1, 2);
+        assertThat(entry.getDigest()).isEqualTo("digest");
+        assertThat(entry.getExportPattern()).isEqualTo("/pattern");
+    }
+
+    @Test
+    void shouldKeepProjectsSavedByOtherRecords() throws IOException {
+        // Given
+        UploadedFiles uploadedFiles = UploadedFiles.load(file);
+        UploadedFiles otherUploadedFiles = UploadedFiles.load(file);
+        uploadedFiles.put(1, 2, "digest A", "/pattern A");
+        otherUploadedFiles.put(3, 4, "digest B", "/pattern B");
+        // When
+        uploadedFiles.save();
+        otherUploadedFiles.save();
+        // Then
+        UploadedFiles loaded = UploadedFiles.load(file);
+        assertThat(loaded.get(1, 2).getDigest()).isEqualTo("digest A");
+        assertThat(loaded.get(3, 4).getDigest()).isEqualTo("digest B");
+    }
+}
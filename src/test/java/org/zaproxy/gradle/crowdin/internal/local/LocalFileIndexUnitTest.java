@@ -0,0 +1,274 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link LocalFileIndex}. */
+class LocalFileIndexUnitTest {
+
+    private static final String DIGEST_A =
+            "559aead08264d5795d3909718cdd05abd49572e84fe55590eef31a88a08fdffd";
+    private static final String DIGEST_B =
+            "df7e70e5021544f4834bbee64a9e3789febc4be81470df629cad6ddb03320a5c";
+    private static final String DIGEST_AB =
+            "38164fbd17603d73f696b8b4d72664d735bb6a7c88577687fd2ae33fd6964153";
+
+    @TempDir Path dir;
+
+    private Path indexFile;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        indexFile = dir.resolve("index");
+        file = dir.resolve("file.txt");
+    }
+
+    @Test
+    void shouldLoadEmptyIndexIfFileDoesNotExist() throws IOException {
+        // Given
+        LocalFileIndex index = LocalFileIndex.load(indexFile);
+        // When
+        index.save();
+        // Then
+        assertThat(indexFile).doesNotExist();
+    }
+
+    @Test
+    void shouldComputeDigest() throws IOException {
+        // Given
+        write(file, "A", old());
+        LocalFileIndex index = LocalFileIndex.inMemory();
+        // When
+        String digest = index.getDigest(file);
+        // Then
+        assertThat(digest).isEqualTo(DIGEST_A);
+    }
+
+    @Test
+    void shouldSaveAndLoadIndex() throws IOException {
+        // Given
+        write(file, "A", old());
+        LocalFileIndex index = LocalFileIndex.load(indexFile);
+        index.getDigest(file);
+        // When
+        index.save();
+        // Then
+        assertThat(indexFile).exists();
+        assertThat(LocalFileIndex.load(indexFile).getDigest(file)).isEqualTo(DIGEST_A);
+    }
+
+    @Test
+    void shouldNotReadFileIfStatDataMatches() throws IOException {
+        // Given
+        FileTime lastModified = old();
+        write(file, "A", lastModified);
+        LocalFileIndex index = LocalFileIndex.load(indexFile);
+        index.getDigest(file);
+        index.save();
+        write(file, "B", lastModified);
+        // When
+        String digest = LocalFileIndex.load(indexFile).getDigest(file);
+        // Then
+        assertThat(digest).isEqualTo(DIGEST_A);
+    }
+
+    @Test
+    void shouldReadFileIfSizeChanged() throws IOException {
+        // Given
+        FileTime lastModified = old();
+        write(file, "A", lastModified);
+        LocalFileIndex index = LocalFileIndex.load(indexFile);
+        index.getDigest(file);
+        index.save();
+        write(file, "AB", lastModified);
+        // When
+        String digest = LocalFileIndex.load(indexFile).getDigest(file);
+        // Then
+        assertThat(digest).isEqualTo(DIGEST_AB);
+    }
+
+    @Test
+    void shouldReadFileIfLastModifiedChanged() throws IOException {
+        // Given
+        write(file, "A", old());
+        LocalFileIndex index = LocalFileIndex.load(indexFile);
+        index.getDigest(file);
+        index.save();
+        write(file, "B", FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+        // When
+        String digest = LocalFileIndex.load(indexFile).getDigest(file);
+        // Then
+        assertThat(digest).isEqualTo(DIGEST_B);
+    }
+
+    @Test
+    void shouldReadFileIfModifiedAfterHashed() throws IOException {
+        // Given
+        FileTime lastModified = FileTime.from(Instant.now().plus(1, ChronoUnit.HOURS));
+        write(file, "A", lastModified);
+        LocalFileIndex index = LocalFileIndex.load(indexFile);
+        index.getDigest(file);
+        index.save();
+        write(file, "B", lastModified);
+        // When
+        String digest = LocalFileIndex.load(indexFile).getDigest(file);
+        // Then
+        assertThat(digest).isEqualTo(DIGEST_B);
+    }
+
+    @Test
+    void shouldReadFileIfModifiedWithinFineGranularityOfHashTime() throws IOException {
+        // Given
+        Instant hashed = Instant.parse("2026-01-01T10:00:00.500Z");
+        FileTime lastModified = FileTime.from(hashed.minusMillis(5));
+        write(file, "A", lastModified);
+        LocalFileIndex index = LocalFileIndex.load(indexFile, clockAt(hashed));
+        index.getDigest(file);
+        index.save();
+        write(file, "B", lastModified);
+        // When
+        String digest = LocalFileIndex.load(indexFile).getDigest(file);
+        // Then
+        assertThat(digest).isEqualTo(DIGEST_B);
+    }
+
+    @Test
+    void shouldReadFileIfModifiedWithinCoarseGranularityOfHashTime() throws IOException {
+        // Given
+        Instant hashed = Instant.parse("2026-01-01T10:00:00.500Z");
+        FileTime lastModified =
+                FileTime.from(hashed.minusSeconds(1).truncatedTo(ChronoUnit.SECONDS));
+        write(file, "A", lastModified);
+        LocalFileIndex index = LocalFileIndex.load(indexFile, clockAt(hashed));
+        index.getDigest(file);
+        index.save();
+        write(file, "B", lastModified);
+        // When
+        String digest = LocalFileIndex.load(indexFile).getDigest(file);
+        // Then
+        assertThat(digest).isEqualTo(DIGEST_B);
+    }
+
+    @Test
+    void shouldNotReadFileIfModifiedBeforeCoarseGranularityOfHashTime() throws IOException {
+        // Given
+        Instant hashed = Instant.parse("2026-01-01T10:00:00.500Z");
+        FileTime lastModified =
+                FileTime.from(hashed.minusSeconds(3).truncatedTo(ChronoUnit.SECONDS));
+        write(file, "A", lastModified);
+        LocalFileIndex index = LocalFileIndex.load(indexFile, clockAt(hashed));
+        index.getDigest(file);
+        index.save();
+        write(file, "B", lastModified);
+        // When
+        String digest = LocalFileIndex.load(indexFile).getDigest(file);
+        // Then
+        assertThat(digest).isEqualTo(DIGEST_A);
+    }
+
+    @Test
+    void shouldReadFileIfRacyWhenHashedEvenIfIndexSavedLater() throws IOException {
+        // Given
+        Instant hashed = Instant.parse("2026-01-01T10:00:00.500Z");
+        FileTime lastModified = FileTime.from(hashed.minusMillis(5));
+        write(file, "A", lastModified);
+        LocalFileIndex index = LocalFileIndex.load(indexFile, clockAt(hashed));
+        index.getDigest(file);
+        write(file, "B", lastModified);
+        index.save();
+        Files.setLastModifiedTime(indexFile, FileTime.from(hashed.plus(1, ChronoUnit.HOURS)));
+        // When
+        String digest = LocalFileIndex.load(indexFile).getDigest(file);
+        // Then
+        assertThat(digest).isEqualTo(DIGEST_B);
+    }
+
+    @Test
+    void shouldKeepHashTimeOfEntriesMerged() throws IOException {
+        // Given
+        Instant hashed = Instant.parse("2026-01-01T10:00:00.500Z");
+        FileTime lastModified = FileTime.from(hashed.minusMillis(5));
+        Path otherFile = dir.resolve("other.txt");
+        write(file, "A", lastModified);
+        write(otherFile, "A", old());
+        LocalFileIndex index = LocalFileIndex.load(indexFile, clockAt(hashed));
+        LocalFileIndex otherIndex = LocalFileIndex.load(indexFile);
+        index.getDigest(file);
+        otherIndex.getDigest(otherFile);
+        index.save();
+        otherIndex.save();
+        write(file, "B", lastModified);
+        // When
+        String digest = LocalFileIndex.load(indexFile).getDigest(file);
+        // Then
+        assertThat(digest).isEqualTo(DIGEST_B);
+    }
+
+    @Test
+    void shouldMergeEntriesSavedByOtherIndexes() throws IOException {
+        // Given
+        Path otherFile = dir.resolve("other.txt");
+        FileTime lastModified = old();
+        write(file, "A", lastModified);
+        write(otherFile, "B", lastModified);
+        LocalFileIndex index = LocalFileIndex.load(indexFile);
+        LocalFileIndex otherIndex = LocalFileIndex.load(indexFile);
+        index.getDigest(file);
+        otherIndex.getDigest(otherFile);
+        // When
+        index.save();
+        otherIndex.save();
+        // Then
+        write(file, "X", lastModified);
+        write(otherFile, "Y", lastModified);
+        LocalFileIndex loadedIndex = LocalFileIndex.load(indexFile);
+        assertThat(loadedIndex.getDigest(file)).isEqualTo(DIGEST_A);
+        assertThat(loadedIndex.getDigest(otherFile)).isEqualTo(DIGEST_B);
+    }
+
+    private static Clock clockAt(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    private static FileTime old() {
+        return FileTime.from(Instant.now().minus(1, ChronoUnit.DAYS));
+    }
+
+    private static void write(Path file, String content, FileTime lastModified)
+            throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, lastModified);
+    }
+}
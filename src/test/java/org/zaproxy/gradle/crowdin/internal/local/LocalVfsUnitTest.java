@@ -0,0 +1,125 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crowdin.client.sourcefiles.model.ExportOptions;
+import com.crowdin.client.sourcefiles.model.GeneralFileExportOptions;
+import com.crowdin.client.sourcefiles.model.ImportOptions;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zaproxy.gradle.crowdin.internal.SimpleLogger;
+import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinConfiguration;
+import org.zaproxy.gradle.crowdin.internal.configuration.CrowdinProject;
+
+/** Unit test for {@link LocalVfs}. */
+class LocalVfsUnitTest {
+
+    @TempDir Path dir;
+
+    private Path projectDir;
+    private CrowdinProject project;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        projectDir = Files.createDirectories(dir.resolve("project"));
+        Files.createDirectories(projectDir.resolve("a"));
+        Files.createDirectories(projectDir.resolve("b"));
+        project =
+                CrowdinConfiguration.from(getResource("local-vfs.yml"), Collections.emptyMap())
+                        .getProjects()
+                        .get(0);
+    }
+
+    @Test
+    void shouldShareExportOptionsOfFilesWithSameExportPattern() throws Exception {
+        // Given
+        createFile("a/A.properties");
+        createFile("b/A.properties");
+        createFile("b/B.properties");
+        // When
+        LocalVfs vfs = new LocalVfs(projectDir, project, new SimpleLogger() {});
+        // Then
+        ExportOptions optionsA = getExportOptions(vfs, "/b/A.properties");
+        ExportOptions optionsB = getExportOptions(vfs, "/b/B.properties");
+        assertThat(optionsA).isSameAs(optionsB);
+        assertThat(getExportPattern(optionsA))
+                .isEqualTo("/project/b/Messages_%locale_with_underscore%.properties");
+        assertThat(getExportOptions(vfs, "/a/A.properties")).isNotSameAs(optionsA);
+    }
+
+    @Test
+    void shouldNotShareExportOptionsOfFilesWithDistinctExportPatterns() throws Exception {
+        // Given
+        createFile("a/A.properties");
+        createFile("a/B.properties");
+        // When
+        LocalVfs vfs = new LocalVfs(projectDir, project, new SimpleLogger() {});
+        // Then
+        ExportOptions optionsA = getExportOptions(vfs, "/a/A.properties");
+        ExportOptions optionsB = getExportOptions(vfs, "/a/B.properties");
+        assertThat(optionsA).isNotSameAs(optionsB);
+        assertThat(getExportPattern(optionsA))
+                .isEqualTo("/a/A_%locale_with_underscore%.properties");
+        assertThat(getExportPattern(optionsB))
+                .isEqualTo("/a/B_%locale_with_underscore%.properties");
+    }
+
+    @Test
+    void shouldShareImportOptionsOfFilesInFileSet() throws Exception {
+        // Given
+        createFile("a/A.properties");
+        createFile("a/B.properties");
+        // When
+        LocalVfs vfs = new LocalVfs(projectDir, project, new SimpleLogger() {});
+        // Then
+        ImportOptions optionsA = vfs.get("/a/A.properties").getData().getImportOptions();
+        ImportOptions optionsB = vfs.get("/a/B.properties").getData().getImportOptions();
+        assertThat(optionsA).isNotNull();
+        assertThat(optionsA).isSameAs(optionsB);
+    }
+
+    private void createFile(String path) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, "key = value".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ExportOptions getExportOptions(LocalVfs vfs, String path) {
+        return vfs.get(path).getData().getExportOptions();
+    }
+
+    private static String getExportPattern(ExportOptions options) {
+        return ((GeneralFileExportOptions) options).getExportPattern();
+    }
+
+    private static Path getResource(String resourcePath) throws URISyntaxException {
+        return Paths.get(LocalVfsUnitTest.class.getResource(resourcePath).toURI());
+    }
+}
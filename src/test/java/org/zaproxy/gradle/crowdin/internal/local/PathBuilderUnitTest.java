@@ -40,15 +40,6 @@ class PathBuilderUnitTest {
         assertThrows(NullPointerException.class, () -> new PathBuilder(baseDirname));
     }
 
-    @Test
-    void shouldThrowExceptionIfTryingToReplaceDirectly() {
-        // Given
-        PathBuilder pathBuilder = new PathBuilder("baseDirname");
-        String value = "file.txt";
-        // When / Then
-        assertThrows(UnsupportedOperationException.class, () -> pathBuilder.replace(value));
-    }
-
     @Test
     void shouldBuildPathWithProvidedDirFilenameValues() {
         // Given
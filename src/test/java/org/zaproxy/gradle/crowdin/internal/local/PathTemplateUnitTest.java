@@ -0,0 +1,124 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.crowdin.internal.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link PathTemplate}. */
+class PathTemplateUnitTest {
+
+    private static final Path BASE_DIR = Paths.get("/dir/a/");
+    private static final Path FILE = BASE_DIR.resolve("path/to/file.txt");
+
+    @Test
+    void shouldThrowExceptionIfPatternIsNull() {
+        // Given
+        String pattern = null;
+        // When / Then
+        assertThrows(NullPointerException.class, () -> PathTemplate.compile(pattern));
+    }
+
+    @Test
+    void shouldRenderPatternWithoutTokens() {
+        // Given
+        PathTemplate template = PathTemplate.compile("/dir/filename");
+        // When
+        String result = template.render("baseDirname", BASE_DIR, FILE);
+        // Then
+        assertThat(result).isEqualTo("/dir/filename");
+    }
+
+    @Test
+    void shouldRenderAllTokens() {
+        // Given
+        PathTemplate template =
+                PathTemplate.compile(
+                        "/x/%base_dirname%/%file_pathname% | %file_name%%file_extension%");
+        // When
+        String result = template.render("baseDirname", BASE_DIR, FILE);
+        // Then
+        assertThat(result).isEqualTo("/x/baseDirname/path/to/file.txt | file.txt");
+    }
+
+    @Test
+    void shouldRenderSameTokenMoreThanOnce() {
+        // Given
+        PathTemplate template = PathTemplate.compile("%file_name%-%file_name%%file_extension%");
+        // When
+        String result = template.render("baseDirname", BASE_DIR, FILE);
+        // Then
+        assertThat(result).isEqualTo("file-file.txt");
+    }
+
+    @Test
+    void shouldKeepUnknownTokensAndPercentSigns() {
+        // Given
+        PathTemplate template = PathTemplate.compile("%%unknown%/100%%file_name%%");
+        // When
+        String result = template.render("baseDirname", BASE_DIR, FILE);
+        // Then
+        assertThat(result).isEqualTo("%%unknown%/100%file%");
+    }
+
+    @Test
+    void shouldNotReplaceTokensPresentInValues() {
+        // Given
+        PathTemplate template = PathTemplate.compile("%base_dirname%/%file_name%");
+        // When
+        String result = template.render("%file_name%", BASE_DIR, FILE);
+        // Then
+        assertThat(result).isEqualTo("%file_name%/file");
+    }
+
+    @Test
+    void shouldRenderEmptyExtensionIfFileHasNone() {
+        // Given
+        PathTemplate template = PathTemplate.compile("%file_name%[%file_extension%]");
+        // When
+        String result = template.render("baseDirname", BASE_DIR, BASE_DIR.resolve("file"));
+        // Then
+        assertThat(result).isEqualTo("file[]");
+    }
+
+    @Test
+    void shouldNotHaveFileTokensIfJustBaseDirname() {
+        // Given
+        PathTemplate template = PathTemplate.compile("/%base_dirname%/Messages.properties");
+        // When
+        boolean fileTokens = template.hasFileTokens();
+        // Then
+        assertThat(fileTokens).isFalse();
+    }
+
+    @Test
+    void shouldHaveFileTokens() {
+        // Given
+        PathTemplate template = PathTemplate.compile("/%base_dirname%/%file_name%.properties");
+        // When
+        boolean fileTokens = template.hasFileTokens();
+        // Then
+        assertThat(fileTokens).isTrue();
+    }
+}